@@ -0,0 +1,81 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQKind;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Computes shortest paths using A* search.
+ *
+ * Works like {@link DijkstraShortestPathFinder}, except that vertices are prioritized by their
+ * distance from the start plus a heuristic estimate of their remaining distance to the end. The
+ * heuristic must be admissible (never overestimate the true remaining distance) for the returned
+ * paths to be shortest; the closer it is to the true distance, the fewer vertices are settled.
+ *
+ * With a heuristic that is admissible but not consistent, a vertex may be reached by a shorter path
+ * after it has been removed from the queue; it is then queued again, so results stay correct.
+ *
+ * @see SPTShortestPathFinder for more documentation.
+ */
+public class AStarShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
+    extends DijkstraShortestPathFinder<G, V, E> {
+
+    private final ToDoubleBiFunction<V, V> heuristic;
+
+    /**
+     * @param heuristic an admissible estimate of the distance from its first argument (a vertex) to
+     *                  its second (the end vertex).
+     */
+    public AStarShortestPathFinder(ToDoubleBiFunction<V, V> heuristic) {
+        this(heuristic, MinPQKind.DOUBLE_MAP);
+    }
+
+    /**
+     * @param heuristic an admissible estimate of the distance from its first argument (a vertex) to
+     *                  its second (the end vertex).
+     * @param minPQKind the kind of priority queue to use. Monotone kinds are only safe with a
+     *                  consistent heuristic.
+     */
+    public AStarShortestPathFinder(ToDoubleBiFunction<V, V> heuristic, MinPQKind minPQKind) {
+        super(minPQKind);
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    protected Map<V, E> constructShortestPathsTree(G graph, V start, V end) {
+        Map<V, E> spt = new HashMap<>();
+        Map<V, Double> vertexToDistance = new HashMap<>();
+        vertexToDistance.put(start, 0.0);
+        ExtrinsicMinPQ<V> verticesPriorityQueue = createMinPQ();
+        verticesPriorityQueue.add(start, heuristic.applyAsDouble(start, end));
+
+        while (!verticesPriorityQueue.isEmpty()) {
+            V currentVertex = verticesPriorityQueue.removeMin();
+            if (currentVertex.equals(end)) {
+                break;
+            }
+            double currentDistance = vertexToDistance.get(currentVertex);
+            for (E edge : graph.outgoingEdgesFrom(currentVertex)) {
+                V targetVertex = edge.to();
+                double newDistance = currentDistance + edge.weight();
+                if (newDistance < vertexToDistance.getOrDefault(targetVertex, Double.POSITIVE_INFINITY)) {
+                    vertexToDistance.put(targetVertex, newDistance);
+                    spt.put(targetVertex, edge);
+
+                    double estimate = newDistance + heuristic.applyAsDouble(targetVertex, end);
+                    if (verticesPriorityQueue.contains(targetVertex)) {
+                        verticesPriorityQueue.changePriority(targetVertex, estimate);
+                    } else {
+                        verticesPriorityQueue.add(targetVertex, estimate);
+                    }
+                }
+            }
+        }
+        return spt;
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map workloads shared by the map benchmarks: filling a new map, then looking up every present
+ * key, or as many missing ones. Subclasses choose the map and call {@link #prepare} from their
+ * setup with their parameters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public abstract class AbstractMapBenchmark {
+    private static final long SEED = 373;
+
+    private Object[] keys;
+    private Object[] missingKeys;
+    private Map<Object, Integer> filled;
+
+    protected abstract Map<Object, Integer> createMap();
+
+    protected void prepare(int size, KeyDistribution distribution) {
+        keys = distribution.keys(size, SEED);
+        missingKeys = distribution.missingKeys(size, SEED);
+        filled = fill();
+    }
+
+    private Map<Object, Integer> fill() {
+        Map<Object, Integer> map = createMap();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Object, Integer> put() {
+        return fill();
+    }
+
+    @Benchmark
+    public int getPresent() {
+        int sum = 0;
+        for (Object key : keys) {
+            sum += filled.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int getMissing() {
+        int found = 0;
+        for (Object key : missingKeys) {
+            if (filled.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
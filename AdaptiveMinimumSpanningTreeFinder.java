@@ -0,0 +1,66 @@
+package graphs.minspantrees;
+
+import graphs.BaseEdge;
+import graphs.KruskalGraph;
+
+/**
+ * Computes minimum spanning trees with Prim's algorithm on dense graphs and Kruskal's algorithm on
+ * sparse ones.
+ *
+ * Density is the number of edges divided by the V(V-1)/2 edges of a complete graph. Kruskal's
+ * algorithm has to sort every edge, so once the edge count approaches V^2 Prim's algorithm, which
+ * only pays a priority queue operation per vertex and a cheap check per edge, wins.
+ *
+ * @see MinimumSpanningTreeFinder for more documentation.
+ */
+public class AdaptiveMinimumSpanningTreeFinder<G extends KruskalGraph<V, E>, V, E extends BaseEdge<V, E>>
+    implements MinimumSpanningTreeFinder<G, V, E> {
+    private static final double DEFAULT_DENSITY_THRESHOLD = 0.25;
+
+    private final MinimumSpanningTreeFinder<G, V, E> sparseFinder;
+    private final MinimumSpanningTreeFinder<G, V, E> denseFinder;
+    private final double densityThreshold;
+
+    /**
+     * Constructs a finder choosing between the default Kruskal and Prim finders at the default
+     * density threshold.
+     */
+    public AdaptiveMinimumSpanningTreeFinder() {
+        this(new KruskalMinimumSpanningTreeFinder<>(), new PrimMinimumSpanningTreeFinder<>(),
+            DEFAULT_DENSITY_THRESHOLD);
+    }
+
+    /**
+     * @param sparseFinder the finder to use below the density threshold, typically Kruskal.
+     * @param denseFinder the finder to use at or above the density threshold, typically Prim.
+     * @param densityThreshold the edge density at which to switch to the dense finder. Must be >= 0.
+     */
+    public AdaptiveMinimumSpanningTreeFinder(MinimumSpanningTreeFinder<G, V, E> sparseFinder,
+                                             MinimumSpanningTreeFinder<G, V, E> denseFinder,
+                                             double densityThreshold) {
+        if (densityThreshold < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.sparseFinder = sparseFinder;
+        this.denseFinder = denseFinder;
+        this.densityThreshold = densityThreshold;
+    }
+
+    @Override
+    public MinimumSpanningTree<V, E> findMinimumSpanningTree(G graph) {
+        return isDense(graph) ? denseFinder.findMinimumSpanningTree(graph)
+            : sparseFinder.findMinimumSpanningTree(graph);
+    }
+
+    /**
+     * Returns whether the graph's edge density is at or above the threshold.
+     */
+    public boolean isDense(G graph) {
+        double vertices = graph.allVertices().size();
+        if (vertices <= 1) {
+            return false;
+        }
+        double completeEdgeCount = vertices * (vertices - 1) / 2;
+        return graph.allEdges().size() / completeEdgeCount >= densityThreshold;
+    }
+}
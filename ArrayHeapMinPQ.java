@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 // import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
@@ -27,6 +28,14 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         size = 0;
     }
 
+    /**
+     * Constructs a heap holding the given items and priorities, built bottom-up in linear time.
+     */
+    public ArrayHeapMinPQ(Map<T, Double> initialItems) {
+        this();
+        addAll(initialItems);
+    }
+
     // Here's a method stub that may be useful. Feel free to change or remove it, if you wish.
     // You'll probably want to add more helper methods like this one to make your code easier to read.
     /**
@@ -158,6 +167,57 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         }
     }
 
+    /**
+     * Adds all the given items with their priorities. When the batch is large relative to the heap,
+     * they are added at the back and the heap is rebuilt once with Floyd's bottom-up heapify instead
+     * of percolating each item up.
+     *
+     * @throws IllegalArgumentException if any item is already present or any priority is null
+     */
+    public void addAll(Map<T, Double> newItems) {
+        HeapBatches.checkNewItems(newItems, item -> !itemsMap.containsKey(item));
+        if (!HeapBatches.isLargeBatch(newItems.size(), size)) {
+            for (Map.Entry<T, Double> entry : newItems.entrySet()) {
+                add(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        for (Map.Entry<T, Double> entry : newItems.entrySet()) {
+            items.add(backIndex, new PriorityNode<>(entry.getKey(), entry.getValue()));
+            itemsMap.put(entry.getKey(), backIndex);
+            backIndex++;
+            size++;
+        }
+        heapify();
+    }
+
+    /**
+     * Changes the priorities of all the given items. When the batch is large relative to the heap,
+     * the heap is repaired once instead of percolating each changed item.
+     *
+     * @throws NoSuchElementException if any item is not present
+     * @throws IllegalArgumentException if any priority is null
+     */
+    public void changePriorities(Map<T, Double> newPriorities) {
+        HeapBatches.checkNewPriorities(newPriorities, this::contains);
+        if (!HeapBatches.isLargeBatch(newPriorities.size(), size)) {
+            for (Map.Entry<T, Double> entry : newPriorities.entrySet()) {
+                changePriority(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        for (Map.Entry<T, Double> entry : newPriorities.entrySet()) {
+            items.get(itemsMap.get(entry.getKey())).setPriority(entry.getValue());
+        }
+        heapify();
+    }
+
+    private void heapify() {
+        for (int index = (size - 2) / 2 + START_INDEX; index >= START_INDEX; index--) {
+            percolateDown(index);
+        }
+    }
+
     @Override
     public int size() {
         return size;
@@ -102,18 +102,16 @@ public class ArrayMap<K, V> extends AbstractIterableMap<K, V> {
 
     @Override
     public V remove(Object key) {
-        V value = get(key);
-        if (value == null) {
-            return null;
-        }
-        int i = 0;
-        while (!Objects.equals(entries[i].getKey(), key)) {
-            i++;
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(entries[i].getKey(), key)) {
+                V value = entries[i].getValue();
+                entries[i] = entries[size - 1];
+                entries[size - 1] = null;
+                size -= 1;
+                return value;
+            }
         }
-        entries[i] = entries[size - 1];
-        entries[size - 1] = null;
-        size -= 1;
-        return value;
+        return null;
     }
 
     @Override
@@ -127,7 +125,7 @@ public class ArrayMap<K, V> extends AbstractIterableMap<K, V> {
     @Override
     public boolean containsKey(Object key) {
         for (int i = 0; i < size; i++) {
-            if (entries[i].getKey().equals(key)) {
+            if (Objects.equals(entries[i].getKey(), key)) {
                 return true;
             }
         }
@@ -0,0 +1,30 @@
+package benchmarks;
+
+import maps.ArrayMap;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Map;
+
+/**
+ * Runs {@link AbstractMapBenchmark}'s workloads on {@link ArrayMap}, whose operations scan every
+ * entry, at sizes where a full workload still takes well under a second.
+ */
+public class ArrayMapBenchmark extends AbstractMapBenchmark {
+    @Param({"1000", "10000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "COLLIDING"})
+    KeyDistribution distribution;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prepare(size, distribution);
+    }
+
+    @Override
+    protected Map<Object, Integer> createMap() {
+        return new ArrayMap<>();
+    }
+}
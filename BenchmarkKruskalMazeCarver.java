@@ -0,0 +1,73 @@
+package benchmarks;
+
+import graphs.EdgeWithData;
+import graphs.minspantrees.MinimumSpanningTreeFinder;
+import mazes.entities.LineSegment;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.logic.MazeGraph;
+import mazes.logic.carvers.KruskalMazeCarver;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A {@link KruskalMazeCarver} whose wall selection benchmarks can call directly on the walls of a
+ * square grid of rooms, without building a whole maze around it.
+ */
+public class BenchmarkKruskalMazeCarver extends KruskalMazeCarver {
+    // the side of each square room, in the units of the room polygons
+    private static final int ROOM_SIZE = 10;
+
+    public BenchmarkKruskalMazeCarver(MinimumSpanningTreeFinder
+                                          <MazeGraph, Room, EdgeWithData<Room, Wall>> minimumSpanningTreeFinder,
+                                      long seed) {
+        super(minimumSpanningTreeFinder, seed);
+    }
+
+    /**
+     * Returns the walls this carver would remove from the given set of walls.
+     */
+    public Set<Wall> carve(Set<Wall> walls) {
+        return super.chooseWallsToRemove(walls);
+    }
+
+    /**
+     * Returns the inner walls of a {@code side} by {@code side} grid of square rooms: one between
+     * each room and its right neighbor, and one between each room and the neighbor below it.
+     */
+    public static Set<Wall> gridWalls(int side) {
+        if (side <= 0) {
+            throw new IllegalArgumentException();
+        }
+        Room[][] rooms = new Room[side][side];
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int x = col * ROOM_SIZE;
+                int y = row * ROOM_SIZE;
+                Polygon polygon = new Polygon(
+                    new int[]{x, x + ROOM_SIZE, x + ROOM_SIZE, x},
+                    new int[]{y, y, y + ROOM_SIZE, y + ROOM_SIZE}, 4);
+                rooms[row][col] = new Room(new Point(x + ROOM_SIZE / 2, y + ROOM_SIZE / 2), polygon);
+            }
+        }
+        Set<Wall> walls = new HashSet<>();
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int x = (col + 1) * ROOM_SIZE;
+                int y = (row + 1) * ROOM_SIZE;
+                if (col + 1 < side) {
+                    walls.add(new Wall(rooms[row][col], rooms[row][col + 1],
+                        new LineSegment(new Point(x, y - ROOM_SIZE), new Point(x, y))));
+                }
+                if (row + 1 < side) {
+                    walls.add(new Wall(rooms[row][col], rooms[row + 1][col],
+                        new LineSegment(new Point(x - ROOM_SIZE, y), new Point(x, y))));
+                }
+            }
+        }
+        return walls;
+    }
+}
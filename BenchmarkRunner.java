@@ -0,0 +1,41 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks in both throughput and average time modes with the GC profiler, which adds
+ * allocation rate and GC counts to every result, and writes the results as JSON for comparing
+ * versions.
+ *
+ * Usage: {@code BenchmarkRunner [include-regex [result-file [param=value1,value2 ...]]]}, e.g.
+ * {@code BenchmarkRunner MapBenchmark map.json size=1000,100000}. By default it runs every
+ * benchmark in this package and writes {@code jmh-result.json}. The same can be done with JMH's own
+ * command line: {@code -bm thrpt,avgt -prof gc -rf json -rff jmh-result.json}.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "benchmarks\\..*";
+        String resultFile = args.length > 1 ? args[1] : "jmh-result.json";
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(include)
+            .mode(Mode.Throughput)
+            .mode(Mode.AverageTime)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile);
+        for (int i = 2; i < args.length; i++) {
+            int equals = args[i].indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("expected param=value1,value2...: " + args[i]);
+            }
+            options.param(args[i].substring(0, equals), args[i].substring(equals + 1).split(","));
+        }
+        new Runner(options.build()).run();
+    }
+}
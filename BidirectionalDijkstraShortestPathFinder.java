@@ -0,0 +1,173 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQKind;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Computes shortest paths using bidirectional Dijkstra's algorithm.
+ *
+ * One search grows outward from the start along outgoing edges while a second grows backward from
+ * the end along incoming edges, always advancing the side with the smaller frontier. The searches
+ * stop once the smallest distances on the two frontiers add up to at least the shortest start-end
+ * path seen so far, which for point-to-point queries settles far fewer vertices than searching from
+ * the start alone.
+ *
+ * The backward search needs each vertex's incoming edges. By default the graph is treated as
+ * undirected and {@code outgoingEdgesFrom} is used for both directions; for directed graphs, pass a
+ * function returning the edges that end at a vertex.
+ *
+ * {@link #constructShortestPathsTree} returns only the edges of the shortest path, keyed by the
+ * vertex each edge leads to, so {@link #extractShortestPath} works unchanged.
+ *
+ * @see SPTShortestPathFinder for more documentation.
+ */
+public class BidirectionalDijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
+    extends DijkstraShortestPathFinder<G, V, E> {
+
+    private final BiFunction<G, V, Collection<E>> incomingEdges;
+
+    /**
+     * Constructs a finder for undirected graphs that uses {@link priorityqueues.DoubleMapMinPQ}.
+     */
+    public BidirectionalDijkstraShortestPathFinder() {
+        this(MinPQKind.DOUBLE_MAP);
+    }
+
+    /**
+     * Constructs a finder for undirected graphs that uses the given kind of priority queue.
+     */
+    public BidirectionalDijkstraShortestPathFinder(MinPQKind minPQKind) {
+        this((graph, vertex) -> graph.outgoingEdgesFrom(vertex), minPQKind);
+    }
+
+    /**
+     * @param incomingEdges returns the edges of the graph that lead into the given vertex.
+     * @param minPQKind the kind of priority queue to use for each direction.
+     */
+    public BidirectionalDijkstraShortestPathFinder(BiFunction<G, V, Collection<E>> incomingEdges,
+                                                   MinPQKind minPQKind) {
+        super(minPQKind);
+        this.incomingEdges = incomingEdges;
+    }
+
+    @Override
+    protected Map<V, E> constructShortestPathsTree(G graph, V start, V end) {
+        Map<V, E> path = new HashMap<>();
+        if (start.equals(end)) {
+            return path;
+        }
+        Map<V, E> forwardSpt = new HashMap<>();
+        Map<V, Double> forwardDistance = new HashMap<>();
+        ExtrinsicMinPQ<V> forwardQueue = createMinPQ();
+        forwardDistance.put(start, 0.0);
+        forwardQueue.add(start, 0.0);
+
+        // for each vertex reached backward, the edge (and its far end) leading one step towards end
+        Map<V, E> backwardEdge = new HashMap<>();
+        Map<V, V> backwardNext = new HashMap<>();
+        Map<V, Double> backwardDistance = new HashMap<>();
+        ExtrinsicMinPQ<V> backwardQueue = createMinPQ();
+        backwardDistance.put(end, 0.0);
+        backwardQueue.add(end, 0.0);
+
+        double shortest = Double.POSITIVE_INFINITY;
+        V meetingVertex = null;
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            double forwardMin = forwardDistance.get(forwardQueue.peekMin());
+            double backwardMin = backwardDistance.get(backwardQueue.peekMin());
+            if (forwardMin + backwardMin >= shortest) {
+                break;
+            }
+            if (forwardQueue.size() <= backwardQueue.size()) {
+                V currentVertex = forwardQueue.removeMin();
+                for (E edge : graph.outgoingEdgesFrom(currentVertex)) {
+                    V targetVertex = edge.to();
+                    double newDistance = forwardMin + edge.weight();
+                    if (relax(forwardQueue, forwardDistance, targetVertex, newDistance)) {
+                        forwardSpt.put(targetVertex, edge);
+                        Double remaining = backwardDistance.get(targetVertex);
+                        if (remaining != null && newDistance + remaining < shortest) {
+                            shortest = newDistance + remaining;
+                            meetingVertex = targetVertex;
+                        }
+                    }
+                }
+            } else {
+                V currentVertex = backwardQueue.removeMin();
+                for (E edge : incomingEdges.apply(graph, currentVertex)) {
+                    V sourceVertex = edge.from().equals(currentVertex) ? edge.to() : edge.from();
+                    double newDistance = backwardMin + edge.weight();
+                    if (relax(backwardQueue, backwardDistance, sourceVertex, newDistance)) {
+                        backwardEdge.put(sourceVertex, edge);
+                        backwardNext.put(sourceVertex, currentVertex);
+                        Double travelled = forwardDistance.get(sourceVertex);
+                        if (travelled != null && newDistance + travelled < shortest) {
+                            shortest = newDistance + travelled;
+                            meetingVertex = sourceVertex;
+                        }
+                    }
+                }
+            }
+        }
+        if (meetingVertex == null) {
+            return path;
+        }
+
+        for (E edge = forwardSpt.get(meetingVertex); edge != null; edge = forwardSpt.get(edge.from())) {
+            path.put(edge.to(), edge);
+            if (edge.from().equals(start)) {
+                break;
+            }
+        }
+        for (V vertex = meetingVertex; !vertex.equals(end); vertex = backwardNext.get(vertex)) {
+            V next = backwardNext.get(vertex);
+            path.put(next, orientedEdge(graph, vertex, next, backwardEdge.get(vertex)));
+        }
+        return path;
+    }
+
+    /**
+     * Lowers the vertex's distance to {@code newDistance} if that is an improvement, queueing or
+     * re-prioritizing it as needed.
+     *
+     * @return whether the distance improved
+     */
+    private static <V> boolean relax(ExtrinsicMinPQ<V> queue, Map<V, Double> distances, V vertex,
+                                     double newDistance) {
+        if (newDistance >= distances.getOrDefault(vertex, Double.POSITIVE_INFINITY)) {
+            return false;
+        }
+        distances.put(vertex, newDistance);
+        if (queue.contains(vertex)) {
+            queue.changePriority(vertex, newDistance);
+        } else {
+            queue.add(vertex, newDistance);
+        }
+        return true;
+    }
+
+    /**
+     * Returns an edge running from {@code from} to {@code to}: the edge the backward search used, if
+     * it already points that way, or otherwise the lightest such edge among {@code from}'s outgoing
+     * edges (as happens for undirected graphs that store each direction separately).
+     */
+    private E orientedEdge(G graph, V from, V to, E used) {
+        if (used.from().equals(from) && used.to().equals(to)) {
+            return used;
+        }
+        E best = null;
+        for (E edge : graph.outgoingEdgesFrom(from)) {
+            if (edge.to().equals(to) && (best == null || edge.weight() < best.weight())) {
+                best = edge;
+            }
+        }
+        return best == null ? used : best;
+    }
+}
@@ -0,0 +1,142 @@
+package graphs.minspantrees;
+
+import disjointsets.LockFreeDisjointSets;
+import graphs.BaseEdge;
+import graphs.KruskalGraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Computes minimum spanning trees using Boruvka's algorithm, in parallel.
+ *
+ * Each round, every component picks its cheapest outgoing edge, all picked edges are added to the
+ * tree at once, and edges that now lie inside a single component are dropped. Every round at least
+ * halves the number of components, so there are O(log V) rounds, and each round is a parallel pass
+ * over the remaining edges on the given {@link ForkJoinPool}.
+ *
+ * Components are tracked in a {@link LockFreeDisjointSets}, so the edge scans and the unions of a
+ * round can all run concurrently. Ties between equal weights are broken by edge position, which
+ * keeps the picked edges of a round free of cycles.
+ *
+ * @see MinimumSpanningTreeFinder for more documentation.
+ */
+public class BoruvkaMinimumSpanningTreeFinder<G extends KruskalGraph<V, E>, V, E extends BaseEdge<V, E>>
+    implements MinimumSpanningTreeFinder<G, V, E> {
+    private static final int NO_EDGE = -1;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a finder that runs on the common fork-join pool.
+     */
+    public BoruvkaMinimumSpanningTreeFinder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a finder that runs on the given pool.
+     */
+    public BoruvkaMinimumSpanningTreeFinder(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public MinimumSpanningTree<V, E> findMinimumSpanningTree(G graph) {
+        List<V> vertices = new ArrayList<>(graph.allVertices());
+        if (vertices.size() <= 1) {
+            return new MinimumSpanningTree.Success<>(new HashSet<E>());
+        }
+        Map<V, Integer> ids = new HashMap<>();
+        for (V vertex : vertices) {
+            ids.put(vertex, ids.size());
+        }
+        List<E> edges = new ArrayList<>(graph.allEdges());
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        double[] weights = new double[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            from[i] = ids.get(edges.get(i).from());
+            to[i] = ids.get(edges.get(i).to());
+            weights[i] = edges.get(i).weight();
+        }
+
+        boolean[] inTree = pool.submit(() -> computeTree(vertices.size(), from, to, weights)).join();
+
+        Set<E> mstEdges = new HashSet<>();
+        for (int i = 0; i < inTree.length; i++) {
+            if (inTree[i]) {
+                mstEdges.add(edges.get(i));
+            }
+        }
+        if (mstEdges.size() == vertices.size() - 1) {
+            return new MinimumSpanningTree.Success<>(mstEdges);
+        }
+        return new MinimumSpanningTree.Failure<>();
+    }
+
+    /**
+     * Runs Boruvka's rounds over the dense edge arrays, returning which edges are in the forest.
+     */
+    private boolean[] computeTree(int vertexCount, int[] from, int[] to, double[] weights) {
+        LockFreeDisjointSets<V> components = new LockFreeDisjointSets<>(vertexCount);
+        components.makeSets(vertexCount);
+        boolean[] inTree = new boolean[from.length];
+        int[] live = IntStream.range(0, from.length).parallel().filter(i -> from[i] != to[i]).toArray();
+
+        while (live.length > 0) {
+            // cheapest outgoing edge of each component, indexed by its representative
+            AtomicIntegerArray cheapest = new AtomicIntegerArray(vertexCount);
+            IntStream.range(0, vertexCount).parallel().forEach(v -> cheapest.set(v, NO_EDGE));
+            int[] currentLive = live;
+            IntStream.range(0, currentLive.length).parallel().forEach(j -> {
+                int edge = currentLive[j];
+                int root1 = components.find(from[edge]);
+                int root2 = components.find(to[edge]);
+                offer(cheapest, root1, edge, weights);
+                offer(cheapest, root2, edge, weights);
+            });
+            int[] picked = IntStream.range(0, vertexCount).parallel()
+                .map(cheapest::get).filter(edge -> edge != NO_EDGE).toArray();
+            if (picked.length == 0) {
+                break;
+            }
+            IntStream.of(picked).parallel().forEach(edge -> {
+                // an edge picked by both of its components only wins the first union
+                if (components.union(from[edge], to[edge])) {
+                    inTree[edge] = true;
+                }
+            });
+            live = IntStream.of(currentLive).parallel()
+                .filter(edge -> components.find(from[edge]) != components.find(to[edge])).toArray();
+        }
+        return inTree;
+    }
+
+    /**
+     * Records {@code edge} as the cheapest edge of {@code root} if it beats the current one.
+     */
+    private static void offer(AtomicIntegerArray cheapest, int root, int edge, double[] weights) {
+        while (true) {
+            int current = cheapest.get(root);
+            if (current != NO_EDGE && !isLighter(edge, current, weights)) {
+                return;
+            }
+            if (cheapest.compareAndSet(root, current, edge)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isLighter(int edge, int other, double[] weights) {
+        int cmp = Double.compare(weights[edge], weights[other]);
+        return cmp < 0 || (cmp == 0 && edge < other);
+    }
+}
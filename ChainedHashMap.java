@@ -12,6 +12,8 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     private static final double DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD = 1;
     private static final int DEFAULT_INITIAL_CHAIN_COUNT = 1;
     private static final int DEFAULT_INITIAL_CHAIN_CAPACITY = 5;
+    // number of old chains moved into the new chain array by each put or remove during a resize
+    private static final int MIGRATED_CHAINS_PER_OPERATION = 4;
 
     /*
     Warning:
@@ -25,6 +27,12 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     private int keyValuePairs;
     // You're encouraged to add extra fields (and helper methods) though!
 
+    private final boolean incrementalResize;
+    // During an incremental resize, the previous chain array whose entries have not all been moved
+    // into `chains` yet; null otherwise. Chains before migrationIndex have already been moved.
+    private AbstractIterableMap<K, V>[] oldChains;
+    private int migrationIndex;
+
     /**
      * Constructs a new ChainedHashMap with default resizing load factor threshold,
      * default initial chain count, and default initial chain capacity.
@@ -34,20 +42,42 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     }
 
     /**
-     * Constructs a new ChainedHashMap with the given parameters.
+     * Constructs a new ChainedHashMap with the given parameters, resizing all at once.
      *
      * @param resizingLoadFactorThreshold the load factor threshold for resizing. When the load factor
      *                                    exceeds this value, the hash table resizes. Must be > 0.
-     * @param initialChainCount the initial number of chains for your hash table. Must be > 0.
+     * @param initialChainCount the initial number of chains for your hash table, rounded up to a
+     *                          power of two. Must be > 0.
      * @param chainInitialCapacity the initial capacity of each ArrayMap chain created by the map.
      *                             Must be > 0.
      */
     public ChainedHashMap(double resizingLoadFactorThreshold, int initialChainCount, int chainInitialCapacity) {
-        this.chains = this.createArrayOfChains(initialChainCount);
-        this.chainCount = initialChainCount;
+        this(resizingLoadFactorThreshold, initialChainCount, chainInitialCapacity, false);
+    }
+
+    /**
+     * Constructs a new ChainedHashMap with the given parameters.
+     *
+     * @param resizingLoadFactorThreshold the load factor threshold for resizing. When the load factor
+     *                                    exceeds this value, the hash table resizes. Must be > 0.
+     * @param initialChainCount the initial number of chains for your hash table, rounded up to a
+     *                          power of two. Must be > 0.
+     * @param chainInitialCapacity the initial capacity of each ArrayMap chain created by the map.
+     *                             Must be > 0.
+     * @param incrementalResize whether to spread the rehashing work of each resize over the
+     *                          following puts and removes instead of doing it in a single put.
+     */
+    public ChainedHashMap(double resizingLoadFactorThreshold, int initialChainCount, int chainInitialCapacity,
+                          boolean incrementalResize) {
+        int powerOfTwoChainCount = Math.max(1, Integer.highestOneBit(initialChainCount - 1) << 1);
+        this.chains = this.createArrayOfChains(powerOfTwoChainCount);
+        this.chainCount = powerOfTwoChainCount;
         this.resizeThreshold = resizingLoadFactorThreshold;
         this.chainCap = chainInitialCapacity;
         this.keyValuePairs = 0;
+        this.incrementalResize = incrementalResize;
+        this.oldChains = null;
+        this.migrationIndex = 0;
     }
 
     /**
@@ -76,39 +106,58 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
         return new ArrayMap<>(initialSize);
     }
 
+    /**
+     * Returns the index of the key's chain in a chain array of the given power-of-two length.
+     */
+    private static int getIndex(Object key, int chainArrayLength) {
+        int hashCode = key == null ? 0 : key.hashCode();
+        // fold the high bits in, since the mask only keeps the low ones
+        return (hashCode ^ (hashCode >>> 16)) & (chainArrayLength - 1);
+    }
+
+    /**
+     * Returns the old chain holding the key if a resize is in progress and the key has not been
+     * migrated yet, or null otherwise.
+     */
+    private AbstractIterableMap<K, V> oldChainContaining(Object key) {
+        if (oldChains == null) {
+            return null;
+        }
+        AbstractIterableMap<K, V> oldChain = oldChains[getIndex(key, oldChains.length)];
+        if (oldChain != null && oldChain.containsKey(key)) {
+            return oldChain;
+        }
+        return null;
+    }
+
     @Override
     public V get(Object key) {
-        int index = getIndex(key);
+        AbstractIterableMap<K, V> oldChain = oldChainContaining(key);
+        if (oldChain != null) {
+            return oldChain.get(key);
+        }
+        int index = getIndex(key, chains.length);
         if (this.chains[index] != null) {
             return this.chains[index].get(key);
         }
         return null;
     }
 
-    private int getIndex(Object key) {
-        int hashCode;
-        if (key == null) {
-            hashCode = 0;
-        } else {
-            hashCode = Math.abs(key.hashCode());
-        }
-        int index = hashCode % chainCount;
-        return index;
-    }
-
     @Override
     public V put(K key, V value) {
-        V oldValue = null;
-        int index = getIndex(key);
+        migrateSomeChains();
+        AbstractIterableMap<K, V> oldChain = oldChainContaining(key);
+        if (oldChain != null) {
+            return oldChain.put(key, value);
+        }
+        int index = getIndex(key, chains.length);
         // If this index has nothing in it, create new arraymap
-        if (this.chains[index] != null) {
-            oldValue = chains[index].get(key);
-        } else {
+        if (this.chains[index] == null) {
             this.chains[index] = createChain(chainCap);
         }
         int sizeCheck = this.chains[index].size();
         // put key and value
-        oldValue = this.chains[index].put(key, value);
+        V oldValue = this.chains[index].put(key, value);
         // Check if
         if (this.chains[index].size() > sizeCheck) {
             this.keyValuePairs++;
@@ -122,31 +171,75 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     }
 
     private void resize() {
-        int newCapacity = 2 * chainCount;
-        AbstractIterableMap<K, V>[] resizedArray = createArrayOfChains(newCapacity);
-        for (Entry<K, V> entry : this) {
-            int bucketIndex = Math.abs(entry.getKey().hashCode()) % newCapacity;
-            if (resizedArray[bucketIndex] == null) {
-                resizedArray[bucketIndex] = createChain(chainCount);
+        if (oldChains != null) {
+            // the previous resize has not finished yet; complete it before starting another
+            while (oldChains != null) {
+                migrateSomeChains();
+            }
+        }
+        AbstractIterableMap<K, V>[] previousChains = this.chains;
+        this.chainCount = 2 * chainCount;
+        this.chains = createArrayOfChains(chainCount);
+        if (incrementalResize) {
+            this.oldChains = previousChains;
+            this.migrationIndex = 0;
+        } else {
+            for (AbstractIterableMap<K, V> chain : previousChains) {
+                moveEntries(chain);
             }
-            resizedArray[bucketIndex].put(entry.getKey(), entry.getValue());
         }
-        this.chainCount += chainCount;
-        this.chains = resizedArray;
+    }
+
+    /**
+     * Moves a bounded number of chains from the old chain array into the current one, finishing
+     * the resize once every old chain has been moved.
+     */
+    private void migrateSomeChains() {
+        if (oldChains == null) {
+            return;
+        }
+        int end = Math.min(migrationIndex + MIGRATED_CHAINS_PER_OPERATION, oldChains.length);
+        for (; migrationIndex < end; migrationIndex++) {
+            moveEntries(oldChains[migrationIndex]);
+            oldChains[migrationIndex] = null;
+        }
+        if (migrationIndex == oldChains.length) {
+            oldChains = null;
+        }
+    }
+
+    private void moveEntries(AbstractIterableMap<K, V> chain) {
+        if (chain == null) {
+            return;
+        }
+        for (Entry<K, V> entry : chain) {
+            int bucketIndex = getIndex(entry.getKey(), chains.length);
+            if (chains[bucketIndex] == null) {
+                chains[bucketIndex] = createChain(chainCap);
+            }
+            chains[bucketIndex].put(entry.getKey(), entry.getValue());
+        }
     }
 
     @Override
     public V remove(Object key) {
-        int bucketIndex = getIndex(key);
-        AbstractIterableMap<K, V> chain = chains[bucketIndex];
-        if (key == null || chain == null) {
+        migrateSomeChains();
+        AbstractIterableMap<K, V>[] table = chains;
+        int bucketIndex = getIndex(key, chains.length);
+        if (oldChainContaining(key) != null) {
+            table = oldChains;
+            bucketIndex = getIndex(key, oldChains.length);
+        }
+        AbstractIterableMap<K, V> chain = table[bucketIndex];
+        if (chain == null) {
             return null;
         }
+        int sizeCheck = chain.size();
         V removedValue = chain.remove(key);
-        if (removedValue != null) {
+        if (chain.size() < sizeCheck) {
             keyValuePairs--;
             if (chain.isEmpty()) {
-                chains[bucketIndex] = null;
+                table[bucketIndex] = null;
             }
         }
         return removedValue;
@@ -156,12 +249,16 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     public void clear() {
         AbstractIterableMap<K, V>[] newChain = createArrayOfChains(chainCount);
         this.chains = newChain;
+        this.oldChains = null;
         this.keyValuePairs = 0;
     }
 
     @Override
     public boolean containsKey(Object key) {
-        int index = getIndex(key);
+        if (oldChainContaining(key) != null) {
+            return true;
+        }
+        int index = getIndex(key, chains.length);
         if (this.chains[index] != null) {
             return this.chains[index].containsKey(key);
         }
@@ -176,29 +273,43 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     @Override
     public Iterator<Map.Entry<K, V>> iterator() {
         // Note: you won't need to change this method (unless you add more constructor parameters)
-        return new ChainedHashMapIterator<>(this.chains);
+        return new ChainedHashMapIterator<>(this.oldChains, this.chains);
     }
 
     /*
     See the assignment webpage for tips and restrictions on implementing this iterator.
      */
     private static class ChainedHashMapIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        // chains not yet migrated by an in-progress resize are visited before the current ones
+        private AbstractIterableMap<K, V>[] oldChains;
         private AbstractIterableMap<K, V>[] chains;
         private int index;
         private Iterator<Map.Entry<K, V>> currentIterator;
 
-        public ChainedHashMapIterator(AbstractIterableMap<K, V>[] chains) {
+        public ChainedHashMapIterator(AbstractIterableMap<K, V>[] oldChains, AbstractIterableMap<K, V>[] chains) {
+            this.oldChains = oldChains;
             this.chains = chains;
             index = 0;
             findNextIterator();
         }
 
+        private int chainTotal() {
+            return (oldChains == null ? 0 : oldChains.length) + chains.length;
+        }
+
+        private AbstractIterableMap<K, V> chainAt(int i) {
+            if (oldChains == null) {
+                return chains[i];
+            }
+            return i < oldChains.length ? oldChains[i] : chains[i - oldChains.length];
+        }
+
         private void findNextIterator() {
-            while (index < chains.length && (chains[index] == null || !chains[index].iterator().hasNext())) {
+            while (index < chainTotal() && (chainAt(index) == null || !chainAt(index).iterator().hasNext())) {
                 index++;
             }
-            if (index < chains.length) {
-                currentIterator = chains[index].iterator();
+            if (index < chainTotal()) {
+                currentIterator = chainAt(index).iterator();
             }
         }
 
@@ -214,11 +325,10 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
 
         @Override
         public Map.Entry<K, V> next() {
-            if (currentIterator == null || !currentIterator.hasNext()) {
+            if (!hasNext()) {
                 throw new NoSuchElementException();
             }
             return currentIterator.next();
         }
     }
 }
-
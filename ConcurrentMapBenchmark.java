@@ -0,0 +1,66 @@
+package benchmarks;
+
+import maps.ChainedHashMap;
+import maps.StripedConcurrentHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link StripedConcurrentHashMap} against a {@link ChainedHashMap} behind a single global
+ * lock on a read-mostly mix (90% get, 10% put) over a shared key space.
+ *
+ * Thread count is a JMH option rather than a parameter; run once per count, e.g. with
+ * {@code -t 1}, {@code -t 2}, ... {@code -t 64}, to get the scaling curve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ConcurrentMapBenchmark {
+    @Param({"STRIPED", "GLOBAL_LOCK"})
+    String implementation;
+
+    @Param({"100000"})
+    int keys;
+
+    private Map<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (implementation.equals("STRIPED")) {
+            map = new StripedConcurrentHashMap<>();
+        } else {
+            map = Collections.synchronizedMap(new ChainedHashMap<>());
+        }
+        for (int i = 0; i < keys; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @Benchmark
+    public Integer readMostly() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(keys);
+        if (random.nextInt(10) == 0) {
+            return map.put(key, key);
+        }
+        return map.get(key);
+    }
+}
@@ -0,0 +1,380 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A graph augmented with shortcut arcs by {@link ContractionHierarchyPreprocessor}, answering
+ * shortest path queries with a bidirectional search that only ever moves up the vertex ranking.
+ *
+ * Vertices are identified by their position in the vertex list given to the preprocessor, and the
+ * graph's original edges by their position in {@link #collectEdges}'s list. Arcs
+ * {@code [0, edgeCount)} are those edges; later arcs are shortcuts, each standing for exactly two
+ * shorter arcs through a lower-ranked vertex, which is how paths are unpacked back into original
+ * edges.
+ *
+ * A hierarchy is immutable and may be shared between threads; each thread runs queries through
+ * its own {@link Query}.
+ */
+public class ContractionHierarchy<V, E extends BaseEdge<V, E>> {
+    private static final int MAGIC = 0x43484752; // "CHGR"
+    private static final int VERSION = 1;
+    private static final int NO_ARC = -1;
+    private static final int NO_VERTEX = -1;
+
+    private final List<V> vertices;
+    private final List<E> edges;
+    private final Map<V, Integer> vertexIds;
+    private final int[] ranks;
+
+    private final int[] arcFrom;
+    private final int[] arcTo;
+    private final double[] arcWeights;
+    private final int[] firstChildren;
+    private final int[] secondChildren;
+
+    // compressed adjacency: arcs leading up from each vertex, and arcs arriving at it from above
+    private final int[] upwardOffsets;
+    private final int[] upwardArcs;
+    private final int[] downwardOffsets;
+    private final int[] downwardArcs;
+
+    ContractionHierarchy(List<V> vertices, List<E> edges, int[] ranks, int arcCount, int[] arcFrom,
+                         int[] arcTo, double[] arcWeights, int[] firstChildren, int[] secondChildren) {
+        this.vertices = vertices;
+        this.edges = edges;
+        this.vertexIds = indexVertices(vertices);
+        this.ranks = ranks;
+        this.arcFrom = Arrays.copyOf(arcFrom, arcCount);
+        this.arcTo = Arrays.copyOf(arcTo, arcCount);
+        this.arcWeights = Arrays.copyOf(arcWeights, arcCount);
+        this.firstChildren = Arrays.copyOf(firstChildren, arcCount);
+        this.secondChildren = Arrays.copyOf(secondChildren, arcCount);
+
+        int n = vertices.size();
+        this.upwardOffsets = new int[n + 1];
+        this.downwardOffsets = new int[n + 1];
+        for (int arc = 0; arc < arcCount; arc++) {
+            int from = arcFrom[arc];
+            int to = arcTo[arc];
+            if (ranks[from] < ranks[to]) {
+                upwardOffsets[from + 1]++;
+            } else if (ranks[from] > ranks[to]) {
+                downwardOffsets[to + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upwardOffsets[v + 1] += upwardOffsets[v];
+            downwardOffsets[v + 1] += downwardOffsets[v];
+        }
+        this.upwardArcs = new int[upwardOffsets[n]];
+        this.downwardArcs = new int[downwardOffsets[n]];
+        int[] upwardFill = Arrays.copyOf(upwardOffsets, n);
+        int[] downwardFill = Arrays.copyOf(downwardOffsets, n);
+        for (int arc = 0; arc < arcCount; arc++) {
+            int from = arcFrom[arc];
+            int to = arcTo[arc];
+            if (ranks[from] < ranks[to]) {
+                upwardArcs[upwardFill[from]++] = arc;
+            } else if (ranks[from] > ranks[to]) {
+                downwardArcs[downwardFill[to]++] = arc;
+            }
+        }
+    }
+
+    /**
+     * Returns the graph's edges in the order the hierarchy numbers them: each vertex's outgoing
+     * edges, taking the vertices in list order.
+     */
+    public static <V, E extends BaseEdge<V, E>> List<E> collectEdges(Graph<V, E> graph, List<V> vertices) {
+        List<E> edges = new ArrayList<>();
+        for (V vertex : vertices) {
+            edges.addAll(graph.outgoingEdgesFrom(vertex));
+        }
+        return edges;
+    }
+
+    static <V> Map<V, Integer> indexVertices(List<V> vertices) {
+        Map<V, Integer> ids = new HashMap<>();
+        for (V vertex : vertices) {
+            if (ids.put(vertex, ids.size()) != null) {
+                throw new IllegalArgumentException("duplicate vertex: " + vertex);
+            }
+        }
+        return ids;
+    }
+
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Returns the number of shortcut arcs added by preprocessing.
+     */
+    public int shortcutCount() {
+        return arcFrom.length - edges.size();
+    }
+
+    /**
+     * Returns a new query, which holds the search state and is not thread-safe.
+     */
+    public Query newQuery() {
+        return new Query();
+    }
+
+    /**
+     * Writes the ranking and shortcuts. Original edges are not written; {@link #read} takes them
+     * from the graph again. The stream is flushed but not closed.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(vertices.size());
+        data.writeInt(edges.size());
+        data.writeInt(arcFrom.length);
+        for (int rank : ranks) {
+            data.writeInt(rank);
+        }
+        for (int arc = edges.size(); arc < arcFrom.length; arc++) {
+            data.writeInt(arcFrom[arc]);
+            data.writeInt(arcTo[arc]);
+            data.writeDouble(arcWeights[arc]);
+            data.writeInt(firstChildren[arc]);
+            data.writeInt(secondChildren[arc]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #write}. The graph and vertex list must be the ones it was
+     * preprocessed from, with vertices in the same order. The stream is buffered, so it may be read
+     * past the end of the hierarchy.
+     *
+     * @throws IOException if the stream is not a hierarchy of this version, does not match the
+     *                     graph's vertex and edge counts, or is corrupt: ranks that are not a
+     *                     permutation, or shortcuts with endpoints or children out of range.
+     */
+    public static <V, E extends BaseEdge<V, E>> ContractionHierarchy<V, E> read(InputStream in, Graph<V, E> graph,
+                                                                             List<V> vertices) throws IOException {
+        List<V> vertexList = List.copyOf(vertices);
+        List<E> edges = collectEdges(graph, vertexList);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("not a contraction hierarchy");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported contraction hierarchy version: " + version);
+        }
+        int n = data.readInt();
+        int edgeCount = data.readInt();
+        int arcCount = data.readInt();
+        if (n != vertexList.size() || edgeCount != edges.size() || arcCount < edgeCount) {
+            throw new IOException("contraction hierarchy does not match the graph");
+        }
+        int[] ranks = new int[n];
+        boolean[] rankUsed = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            int rank = data.readInt();
+            if (rank < 0 || rank >= n || rankUsed[rank]) {
+                throw new IOException("corrupt contraction hierarchy: ranks are not a permutation");
+            }
+            rankUsed[rank] = true;
+            ranks[v] = rank;
+        }
+        int[] arcFrom = new int[arcCount];
+        int[] arcTo = new int[arcCount];
+        double[] arcWeights = new double[arcCount];
+        int[] firstChildren = new int[arcCount];
+        int[] secondChildren = new int[arcCount];
+        fillOriginalArcs(edges, indexVertices(vertexList), arcFrom, arcTo, arcWeights, firstChildren,
+            secondChildren);
+        for (int arc = edgeCount; arc < arcCount; arc++) {
+            arcFrom[arc] = data.readInt();
+            arcTo[arc] = data.readInt();
+            arcWeights[arc] = data.readDouble();
+            firstChildren[arc] = data.readInt();
+            secondChildren[arc] = data.readInt();
+            if (arcFrom[arc] < 0 || arcFrom[arc] >= n || arcTo[arc] < 0 || arcTo[arc] >= n) {
+                throw new IOException("corrupt contraction hierarchy: shortcut " + arc + " has an unknown endpoint");
+            }
+            // shortcuts are unpacked into both children, which must already exist
+            if (firstChildren[arc] < 0 || firstChildren[arc] >= arc
+                || secondChildren[arc] < 0 || secondChildren[arc] >= arc) {
+                throw new IOException("corrupt contraction hierarchy: shortcut " + arc + " has an invalid child");
+            }
+        }
+        return new ContractionHierarchy<>(vertexList, edges, ranks, arcCount, arcFrom, arcTo, arcWeights,
+            firstChildren, secondChildren);
+    }
+
+    /**
+     * Fills the first {@code edges.size()} arcs with the original edges.
+     */
+    static <V, E extends BaseEdge<V, E>> void fillOriginalArcs(List<E> edges, Map<V, Integer> vertexIds,
+                                                               int[] arcFrom, int[] arcTo, double[] arcWeights,
+                                                               int[] firstChildren, int[] secondChildren) {
+        for (int arc = 0; arc < edges.size(); arc++) {
+            E edge = edges.get(arc);
+            Integer from = vertexIds.get(edge.from());
+            Integer to = vertexIds.get(edge.to());
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("edge endpoint missing from vertex list: " + edge);
+            }
+            arcFrom[arc] = from;
+            arcTo[arc] = to;
+            arcWeights[arc] = edge.weight();
+            firstChildren[arc] = NO_ARC;
+            secondChildren[arc] = NO_ARC;
+        }
+    }
+
+    /**
+     * Reusable state for shortest path queries against this hierarchy.
+     */
+    public class Query {
+        private final StampedMinHeap forward;
+        private final StampedMinHeap backward;
+        private final int[] forwardParents;
+        private final int[] backwardParents;
+        private int[] arcBuffer;
+        private int[] unpackStack;
+        private int meetingVertex;
+
+        private Query() {
+            int n = vertices.size();
+            this.forward = new StampedMinHeap(n);
+            this.backward = new StampedMinHeap(n);
+            this.forwardParents = new int[n];
+            this.backwardParents = new int[n];
+            this.arcBuffer = new int[16];
+            this.unpackStack = new int[16];
+        }
+
+        /**
+         * Returns the length of the shortest path from start to end, or infinity if there is none.
+         */
+        public double distance(V start, V end) {
+            return search(id(start), id(end));
+        }
+
+        /**
+         * Returns the shortest path from start to end, unpacked into the graph's original edges.
+         */
+        public ShortestPath<V, E> findShortestPath(V start, V end) {
+            if (start.equals(end)) {
+                return new ShortestPath.SingleVertex<>(start);
+            }
+            int startId = id(start);
+            int endId = id(end);
+            if (search(startId, endId) == Double.POSITIVE_INFINITY) {
+                return new ShortestPath.Failure<>();
+            }
+
+            // arcs along the path, in order: the forward half is collected backwards and flipped
+            int count = 0;
+            for (int v = meetingVertex; v != startId; v = arcFrom[forwardParents[v]]) {
+                count = append(count, forwardParents[v]);
+            }
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                int swap = arcBuffer[i];
+                arcBuffer[i] = arcBuffer[j];
+                arcBuffer[j] = swap;
+            }
+            for (int v = meetingVertex; v != endId; v = arcTo[backwardParents[v]]) {
+                count = append(count, backwardParents[v]);
+            }
+
+            List<E> pathEdges = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int size = 0;
+                unpackStack[size++] = arcBuffer[i];
+                while (size > 0) {
+                    int arc = unpackStack[--size];
+                    if (firstChildren[arc] == NO_ARC) {
+                        pathEdges.add(edges.get(arc));
+                        continue;
+                    }
+                    if (size + 2 > unpackStack.length) {
+                        unpackStack = Arrays.copyOf(unpackStack, unpackStack.length * 2);
+                    }
+                    unpackStack[size++] = secondChildren[arc];
+                    unpackStack[size++] = firstChildren[arc];
+                }
+            }
+            return new ShortestPath.Success<>(pathEdges);
+        }
+
+        private int id(V vertex) {
+            Integer id = vertexIds.get(vertex);
+            if (id == null) {
+                throw new IllegalArgumentException("vertex not in hierarchy: " + vertex);
+            }
+            return id;
+        }
+
+        private int append(int count, int arc) {
+            if (count == arcBuffer.length) {
+                arcBuffer = Arrays.copyOf(arcBuffer, arcBuffer.length * 2);
+            }
+            arcBuffer[count] = arc;
+            return count + 1;
+        }
+
+        /**
+         * Runs the upward searches from both ends, recording the best meeting vertex.
+         */
+        private double search(int startId, int endId) {
+            forward.clear();
+            backward.clear();
+            forward.offer(startId, 0.0);
+            backward.offer(endId, 0.0);
+            double shortest = Double.POSITIVE_INFINITY;
+            meetingVertex = NO_VERTEX;
+
+            while (true) {
+                boolean forwardDone = forward.isEmpty() || forward.minKey() >= shortest;
+                boolean backwardDone = backward.isEmpty() || backward.minKey() >= shortest;
+                if (forwardDone && backwardDone) {
+                    break;
+                }
+                boolean goForward = !forwardDone && (backwardDone || forward.minKey() <= backward.minKey());
+                StampedMinHeap heap = goForward ? forward : backward;
+                StampedMinHeap other = goForward ? backward : forward;
+                int[] parents = goForward ? forwardParents : backwardParents;
+                int[] offsets = goForward ? upwardOffsets : downwardOffsets;
+                int[] arcs = goForward ? upwardArcs : downwardArcs;
+                int[] ends = goForward ? arcTo : arcFrom;
+
+                int vertex = heap.pop();
+                double distance = heap.key(vertex);
+                double total = distance + other.key(vertex);
+                if (total < shortest) {
+                    shortest = total;
+                    meetingVertex = vertex;
+                }
+                for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                    int arc = arcs[i];
+                    if (heap.offer(ends[arc], distance + arcWeights[arc])) {
+                        parents[ends[arc]] = arc;
+                    }
+                }
+            }
+            return shortest;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQKind;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link ContractionHierarchy}s.
+ *
+ * Vertices are contracted one at a time, least important first: a contracted vertex is removed
+ * from the remaining graph, and for each path u -> v -> w through it that might be the only
+ * shortest u-w path, a shortcut arc u -> w is added. Whether such a path is needed is decided by a
+ * witness search, a local Dijkstra search from u that avoids v; it gives up after settling a
+ * bounded number of vertices, in which case the shortcut is added anyway, which only costs space.
+ *
+ * Importance is the edge difference (shortcuts added minus arcs removed) plus the number of
+ * neighbors already contracted and the vertex's depth in the hierarchy so far, which spreads
+ * contraction evenly over the graph and keeps the upward searches short. Priorities are
+ * updated lazily: before contracting the apparent minimum, its priority is recomputed, and it is
+ * only contracted if it is still the minimum.
+ *
+ * Edge weights must be non-negative.
+ */
+public class ContractionHierarchyPreprocessor<G extends Graph<V, E>, V, E extends BaseEdge<V, E>> {
+    private static final int DEFAULT_WITNESS_SETTLE_LIMIT = 500;
+
+    private final int witnessSettleLimit;
+
+    /**
+     * Constructs a preprocessor whose witness searches settle at most 500 vertices.
+     */
+    public ContractionHierarchyPreprocessor() {
+        this(DEFAULT_WITNESS_SETTLE_LIMIT);
+    }
+
+    /**
+     * @param witnessSettleLimit the most vertices a witness search settles before giving up. Higher
+     *                           limits find more witnesses, and so add fewer shortcuts, but make
+     *                           preprocessing slower. Must be positive.
+     */
+    public ContractionHierarchyPreprocessor(int witnessSettleLimit) {
+        if (witnessSettleLimit <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.witnessSettleLimit = witnessSettleLimit;
+    }
+
+    /**
+     * Contracts every vertex of the graph.
+     *
+     * @param vertices every vertex of the graph, in the order that identifies them in the hierarchy.
+     */
+    public ContractionHierarchy<V, E> preprocess(G graph, List<V> vertices) {
+        List<V> vertexList = List.copyOf(vertices);
+        List<E> edges = ContractionHierarchy.collectEdges(graph, vertexList);
+        Map<V, Integer> vertexIds = ContractionHierarchy.indexVertices(vertexList);
+        Contraction contraction = new Contraction(vertexList.size(), edges.size());
+        ContractionHierarchy.fillOriginalArcs(edges, vertexIds, contraction.arcFrom, contraction.arcTo,
+            contraction.arcWeights, contraction.firstChildren, contraction.secondChildren);
+        contraction.run(edges.size());
+        return new ContractionHierarchy<>(vertexList, edges, contraction.ranks, contraction.arcCount,
+            contraction.arcFrom, contraction.arcTo, contraction.arcWeights, contraction.firstChildren,
+            contraction.secondChildren);
+    }
+
+    /**
+     * The state of a single preprocessing run, over dense vertex and arc ids.
+     */
+    private class Contraction {
+        private final int vertexCount;
+        private int arcCount;
+        private int[] arcFrom;
+        private int[] arcTo;
+        private double[] arcWeights;
+        private int[] firstChildren;
+        private int[] secondChildren;
+
+        // arcs between vertices that have not been contracted yet, by endpoint
+        private final int[][] outgoing;
+        private final int[] outgoingCounts;
+        private final int[][] incoming;
+        private final int[] incomingCounts;
+
+        private final int[] contractedNeighbors;
+        private final int[] levels;
+        private final int[] ranks;
+        private final StampedMinHeap witnessHeap;
+
+        Contraction(int vertexCount, int edgeCount) {
+            this.vertexCount = vertexCount;
+            int capacity = Math.max(16, edgeCount * 2);
+            this.arcFrom = new int[capacity];
+            this.arcTo = new int[capacity];
+            this.arcWeights = new double[capacity];
+            this.firstChildren = new int[capacity];
+            this.secondChildren = new int[capacity];
+            this.outgoing = new int[vertexCount][];
+            this.outgoingCounts = new int[vertexCount];
+            this.incoming = new int[vertexCount][];
+            this.incomingCounts = new int[vertexCount];
+            this.contractedNeighbors = new int[vertexCount];
+            this.levels = new int[vertexCount];
+            this.ranks = new int[vertexCount];
+            this.witnessHeap = new StampedMinHeap(vertexCount);
+            for (int v = 0; v < vertexCount; v++) {
+                outgoing[v] = new int[4];
+                incoming[v] = new int[4];
+            }
+        }
+
+        void run(int edgeCount) {
+            arcCount = edgeCount;
+            for (int arc = 0; arc < edgeCount; arc++) {
+                if (arcFrom[arc] != arcTo[arc]) {
+                    link(arc);
+                }
+            }
+
+            ExtrinsicMinPQ<Integer> queue = MinPQKind.PRIMITIVE_HEAP.create();
+            for (int v = 0; v < vertexCount; v++) {
+                queue.add(v, priority(v));
+            }
+            int nextRank = 0;
+            while (!queue.isEmpty()) {
+                int vertex = queue.peekMin();
+                queue.changePriority(vertex, priority(vertex));
+                if (queue.peekMin() != vertex) {
+                    continue;
+                }
+                queue.removeMin();
+                contract(vertex);
+                ranks[vertex] = nextRank++;
+            }
+        }
+
+        private double priority(int vertex) {
+            int shortcuts = processShortcuts(vertex, false);
+            return shortcuts - outgoingCounts[vertex] - incomingCounts[vertex] + contractedNeighbors[vertex]
+                + levels[vertex];
+        }
+
+        private void contract(int vertex) {
+            processShortcuts(vertex, true);
+            for (int i = 0; i < outgoingCounts[vertex]; i++) {
+                int neighbor = arcTo[outgoing[vertex][i]];
+                contractedNeighbors[neighbor]++;
+                levels[neighbor] = Math.max(levels[neighbor], levels[vertex] + 1);
+                incomingCounts[neighbor] = removeArcsWith(incoming[neighbor], incomingCounts[neighbor], arcFrom,
+                    vertex);
+            }
+            for (int i = 0; i < incomingCounts[vertex]; i++) {
+                int neighbor = arcFrom[incoming[vertex][i]];
+                contractedNeighbors[neighbor]++;
+                levels[neighbor] = Math.max(levels[neighbor], levels[vertex] + 1);
+                outgoingCounts[neighbor] = removeArcsWith(outgoing[neighbor], outgoingCounts[neighbor], arcTo,
+                    vertex);
+            }
+        }
+
+        /**
+         * Finds the shortcuts contracting the vertex would need, adding them if {@code add} is true.
+         *
+         * @return the number of shortcuts needed
+         */
+        private int processShortcuts(int vertex, boolean add) {
+            int shortcuts = 0;
+            int[] ins = incoming[vertex];
+            int[] outs = outgoing[vertex];
+            for (int i = 0; i < incomingCounts[vertex]; i++) {
+                int inArc = ins[i];
+                if (!isLightestParallel(ins, incomingCounts[vertex], i, arcFrom)) {
+                    continue;
+                }
+                int source = arcFrom[inArc];
+                double maxDistance = 0;
+                for (int j = 0; j < outgoingCounts[vertex]; j++) {
+                    if (arcTo[outs[j]] != source) {
+                        maxDistance = Math.max(maxDistance, arcWeights[inArc] + arcWeights[outs[j]]);
+                    }
+                }
+                witnessSearch(source, vertex, maxDistance);
+                for (int j = 0; j < outgoingCounts[vertex]; j++) {
+                    int outArc = outs[j];
+                    int target = arcTo[outArc];
+                    if (target == source || !isLightestParallel(outs, outgoingCounts[vertex], j, arcTo)) {
+                        continue;
+                    }
+                    double viaVertex = arcWeights[inArc] + arcWeights[outArc];
+                    if (witnessHeap.key(target) <= viaVertex) {
+                        continue;
+                    }
+                    shortcuts++;
+                    if (add) {
+                        addShortcut(source, target, viaVertex, inArc, outArc);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Runs a bounded Dijkstra search from source that ignores the given vertex, leaving the
+         * distances it found in the witness heap.
+         */
+        private void witnessSearch(int source, int ignored, double maxDistance) {
+            witnessHeap.clear();
+            witnessHeap.offer(source, 0.0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && settled < witnessSettleLimit && witnessHeap.minKey() <= maxDistance) {
+                int current = witnessHeap.pop();
+                settled++;
+                double distance = witnessHeap.key(current);
+                for (int i = 0; i < outgoingCounts[current]; i++) {
+                    int arc = outgoing[current][i];
+                    if (arcTo[arc] != ignored) {
+                        witnessHeap.offer(arcTo[arc], distance + arcWeights[arc]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns whether {@code arcs[index]} is the lightest arc in the list with its endpoint (as
+         * given by {@code ends}), ties going to the earliest.
+         */
+        private boolean isLightestParallel(int[] arcs, int count, int index, int[] ends) {
+            int arc = arcs[index];
+            for (int i = 0; i < count; i++) {
+                int other = arcs[i];
+                if (i != index && ends[other] == ends[arc]
+                    && (arcWeights[other] < arcWeights[arc] || (arcWeights[other] == arcWeights[arc] && i < index))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void addShortcut(int from, int to, double weight, int firstChild, int secondChild) {
+            if (arcCount == arcFrom.length) {
+                int capacity = arcFrom.length * 2;
+                arcFrom = Arrays.copyOf(arcFrom, capacity);
+                arcTo = Arrays.copyOf(arcTo, capacity);
+                arcWeights = Arrays.copyOf(arcWeights, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                secondChildren = Arrays.copyOf(secondChildren, capacity);
+            }
+            int arc = arcCount++;
+            arcFrom[arc] = from;
+            arcTo[arc] = to;
+            arcWeights[arc] = weight;
+            firstChildren[arc] = firstChild;
+            secondChildren[arc] = secondChild;
+            link(arc);
+        }
+
+        private void link(int arc) {
+            int from = arcFrom[arc];
+            int to = arcTo[arc];
+            if (outgoingCounts[from] == outgoing[from].length) {
+                outgoing[from] = Arrays.copyOf(outgoing[from], outgoing[from].length * 2);
+            }
+            outgoing[from][outgoingCounts[from]++] = arc;
+            if (incomingCounts[to] == incoming[to].length) {
+                incoming[to] = Arrays.copyOf(incoming[to], incoming[to].length * 2);
+            }
+            incoming[to][incomingCounts[to]++] = arc;
+        }
+
+        /**
+         * Drops the arcs whose endpoint (as given by {@code ends}) is the vertex, returning the new count.
+         */
+        private int removeArcsWith(int[] arcs, int count, int[] ends, int vertex) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (ends[arcs[i]] != vertex) {
+                    arcs[kept++] = arcs[i];
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+
+/**
+ * Computes shortest paths by querying a precomputed {@link ContractionHierarchy}.
+ *
+ * The graph passed to {@link #findShortestPath} is ignored; results are for the graph the
+ * hierarchy was built from. Each thread gets its own query state, so this finder may be shared.
+ *
+ * @see ShortestPathFinder for more documentation.
+ */
+public class ContractionHierarchyShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
+    implements ShortestPathFinder<G, V, E> {
+
+    private final ThreadLocal<ContractionHierarchy<V, E>.Query> queries;
+
+    public ContractionHierarchyShortestPathFinder(ContractionHierarchy<V, E> hierarchy) {
+        this.queries = ThreadLocal.withInitial(hierarchy::newQuery);
+    }
+
+    @Override
+    public ShortestPath<V, E> findShortestPath(G graph, V start, V end) {
+        return queries.get().findShortestPath(start, end);
+    }
+}
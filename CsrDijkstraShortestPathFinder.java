@@ -0,0 +1,125 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+import graphs.Edge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes shortest paths using Dijkstra's algorithm directly on the arrays of a {@link CsrGraph},
+ * such as one opened from a {@link graphs.MappedGraphFile}.
+ *
+ * The search follows edge ids with {@link CsrGraph#firstEdge}, {@link CsrGraph#target} and
+ * {@link CsrGraph#weight} instead of the graph's {@code Edge} views, so it allocates no per-edge or
+ * per-vertex objects; {@link #findShortestPath} creates {@code Edge}s only for the returned path,
+ * and {@link #shortestPathEdgeIds} not even those. Each thread keeps its own reusable search state,
+ * so this finder is safe to share between threads.
+ *
+ * @see ShortestPathFinder for more documentation.
+ */
+public class CsrDijkstraShortestPathFinder<V> implements ShortestPathFinder<CsrGraph<V>, V, Edge<V>> {
+    private static final int[] EMPTY_PATH = new int[0];
+
+    private final ThreadLocal<SearchState> states = new ThreadLocal<>();
+
+    @Override
+    public ShortestPath<V, Edge<V>> findShortestPath(CsrGraph<V> graph, V start, V end) {
+        if (start.equals(end)) {
+            return new ShortestPath.SingleVertex<>(start);
+        }
+        int[] edgeIds = shortestPathEdgeIds(graph, graph.idOf(start), graph.idOf(end));
+        if (edgeIds == null) {
+            return new ShortestPath.Failure<>();
+        }
+        List<Edge<V>> pathEdges = new ArrayList<>(edgeIds.length);
+        V from = start;
+        for (int edgeId : edgeIds) {
+            V to = graph.vertexOf(graph.target(edgeId));
+            pathEdges.add(new Edge<>(from, to, graph.weight(edgeId)));
+            from = to;
+        }
+        return new ShortestPath.Success<>(pathEdges);
+    }
+
+    /**
+     * Returns the ids of the edges on a shortest path between the two vertex ids, in order from
+     * start to end; empty if they are the same vertex, or null if the end is unreachable.
+     */
+    public int[] shortestPathEdgeIds(CsrGraph<?> graph, int startId, int endId) {
+        SearchState state = search(graph, startId, endId);
+        if (startId == endId) {
+            return EMPTY_PATH;
+        }
+        if (!state.heap.isReached(endId)) {
+            return null;
+        }
+        int count = 0;
+        for (int vertex = endId; vertex != startId; vertex = state.parentVertices[vertex]) {
+            count++;
+        }
+        int[] edgeIds = new int[count];
+        for (int vertex = endId; vertex != startId; vertex = state.parentVertices[vertex]) {
+            edgeIds[--count] = state.parentEdges[vertex];
+        }
+        return edgeIds;
+    }
+
+    /**
+     * Returns the length of a shortest path between the two vertex ids, or infinity if the end is
+     * unreachable.
+     */
+    public double distance(CsrGraph<?> graph, int startId, int endId) {
+        return search(graph, startId, endId).heap.key(endId);
+    }
+
+    /**
+     * Searches from {@code startId} until {@code endId} is settled or every reachable vertex is.
+     */
+    private SearchState search(CsrGraph<?> graph, int startId, int endId) {
+        int vertexCount = graph.vertexCount();
+        if (startId < 0 || startId >= vertexCount || endId < 0 || endId >= vertexCount) {
+            throw new IllegalArgumentException();
+        }
+        SearchState state = states.get();
+        if (state == null || state.parentEdges.length < vertexCount) {
+            state = new SearchState(vertexCount);
+            states.set(state);
+        }
+        StampedMinHeap heap = state.heap;
+        heap.clear();
+        heap.offer(startId, 0.0);
+        while (!heap.isEmpty()) {
+            int vertex = heap.pop();
+            if (vertex == endId) {
+                break;
+            }
+            double distance = heap.key(vertex);
+            int last = graph.firstEdge(vertex + 1);
+            for (int edge = graph.firstEdge(vertex); edge < last; edge++) {
+                int target = graph.target(edge);
+                if (heap.offer(target, distance + graph.weight(edge))) {
+                    state.parentEdges[target] = edge;
+                    state.parentVertices[target] = vertex;
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Per-thread arrays indexed by vertex id; parents are only meaningful for vertices the heap
+     * reports as reached in the current search.
+     */
+    private static class SearchState {
+        private final StampedMinHeap heap;
+        private final int[] parentEdges;
+        private final int[] parentVertices;
+
+        SearchState(int vertexCount) {
+            this.heap = new StampedMinHeap(vertexCount);
+            this.parentEdges = new int[vertexCount];
+            this.parentVertices = new int[vertexCount];
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package graphs;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * An immutable directed graph stored in compressed sparse row form.
+ *
+ * Vertices have dense ids {@code [0, vertexCount)}. The outgoing edges of vertex {@code v} occupy
+ * edge ids {@code [offsets[v], offsets[v + 1])}, whose targets and weights are kept in two flat
+ * arrays, so the whole graph costs 12 bytes per edge plus 4 per vertex, and following a vertex's
+ * edges reads contiguous memory. The arrays are held as buffers so they can also be backed by
+ * memory outside the heap, such as a mapped file.
+ *
+ * For code that only knows {@link Graph} and {@link KruskalGraph}, edges are exposed as
+ * {@link Edge} objects created on demand by list views, so the generic finders allocate an object
+ * for every edge they look at. Hot loops can use the id-based accessors instead and allocate
+ * nothing, as {@link graphs.shortestpaths.CsrDijkstraShortestPathFinder} and
+ * {@link graphs.minspantrees.CsrKruskalMinimumSpanningTreeFinder} do.
+ */
+public class CsrGraph<V> implements KruskalGraph<V, Edge<V>> {
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private final ToIntFunction<V> vertexIds;
+    private final IntFunction<V> vertices;
+    private final int vertexCount;
+    private final int edgeCount;
+
+    /**
+     * Wraps existing CSR arrays. The buffers are read with absolute indexing from index 0 and must
+     * not be modified afterwards.
+     *
+     * @param offsets {@code vertexCount + 1} non-decreasing edge offsets, starting at 0.
+     * @param targets the target vertex id of each edge.
+     * @param weights the weight of each edge.
+     * @param vertexIds maps each vertex to its id.
+     * @param vertices maps each id back to its vertex.
+     * @throws IllegalArgumentException if the buffer sizes do not agree.
+     */
+    public CsrGraph(IntBuffer offsets, IntBuffer targets, DoubleBuffer weights,
+                    ToIntFunction<V> vertexIds, IntFunction<V> vertices) {
+        if (offsets.limit() < 1 || offsets.get(0) != 0) {
+            throw new IllegalArgumentException("offsets must start at 0");
+        }
+        this.vertexCount = offsets.limit() - 1;
+        this.edgeCount = offsets.get(vertexCount);
+        if (targets.limit() < edgeCount || weights.limit() < edgeCount) {
+            throw new IllegalArgumentException("expected " + edgeCount + " targets and weights");
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.vertexIds = vertexIds;
+        this.vertices = vertices;
+    }
+
+    /**
+     * Wraps existing CSR arrays for a graph whose vertices are their own ids.
+     *
+     * @see #CsrGraph(IntBuffer, IntBuffer, DoubleBuffer, ToIntFunction, IntFunction)
+     */
+    public static CsrGraph<Integer> withIntegerVertices(IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+        return new CsrGraph<>(offsets, targets, weights, Integer::intValue, Integer::valueOf);
+    }
+
+    /**
+     * Builds a graph with the given vertices and directed edges.
+     *
+     * Vertex ids follow the iteration order of {@code vertices}; the edges of each vertex keep
+     * their relative order in {@code edges}.
+     *
+     * @throws IllegalArgumentException if a vertex is repeated or an edge has an unknown endpoint.
+     */
+    public static <V> CsrGraph<V> fromEdges(Collection<V> vertices, Collection<? extends BaseEdge<V, ?>> edges) {
+        return fromEdges(vertices, edges, false);
+    }
+
+    /**
+     * Builds a graph with the given vertices and edges, optionally adding the reverse of each edge
+     * so that edges listed once can be followed both ways.
+     *
+     * @see #fromEdges(Collection, Collection)
+     */
+    public static <V> CsrGraph<V> fromEdges(Collection<V> vertices, Collection<? extends BaseEdge<V, ?>> edges,
+                                            boolean addReverseEdges) {
+        List<V> vertexList = new ArrayList<>(vertices);
+        Map<V, Integer> ids = new HashMap<>();
+        for (V vertex : vertexList) {
+            if (ids.put(vertex, ids.size()) != null) {
+                throw new IllegalArgumentException("duplicate vertex: " + vertex);
+            }
+        }
+        int n = vertexList.size();
+        long arcCount = addReverseEdges ? 2L * edges.size() : edges.size();
+        if (arcCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many edges: " + arcCount);
+        }
+        int[] sources = new int[(int) arcCount];
+        int[] ends = new int[(int) arcCount];
+        double[] edgeWeights = new double[(int) arcCount];
+        int arc = 0;
+        for (BaseEdge<V, ?> edge : edges) {
+            Integer from = ids.get(edge.from());
+            Integer to = ids.get(edge.to());
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("edge endpoint missing from vertex list: " + edge);
+            }
+            sources[arc] = from;
+            ends[arc] = to;
+            edgeWeights[arc++] = edge.weight();
+            if (addReverseEdges) {
+                sources[arc] = to;
+                ends[arc] = from;
+                edgeWeights[arc++] = edge.weight();
+            }
+        }
+
+        // counting sort by source, which keeps each vertex's edges in input order
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < arc; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] fill = new int[n];
+        System.arraycopy(offsets, 0, fill, 0, n);
+        int[] targets = new int[arc];
+        double[] weights = new double[arc];
+        for (int i = 0; i < arc; i++) {
+            int slot = fill[sources[i]]++;
+            targets[slot] = ends[i];
+            weights[slot] = edgeWeights[i];
+        }
+        return new CsrGraph<>(IntBuffer.wrap(offsets), IntBuffer.wrap(targets), DoubleBuffer.wrap(weights),
+            vertex -> {
+                Integer id = ids.get(vertex);
+                if (id == null) {
+                    throw new IllegalArgumentException("vertex not in graph: " + vertex);
+                }
+                return id;
+            }, vertexList::get);
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int idOf(V vertex) {
+        return vertexIds.applyAsInt(vertex);
+    }
+
+    public V vertexOf(int id) {
+        return vertices.apply(id);
+    }
+
+    /**
+     * Returns the id of the first outgoing edge of the vertex; its edges run up to
+     * {@code firstEdge(vertexId + 1)}.
+     */
+    public int firstEdge(int vertexId) {
+        return offsets.get(vertexId);
+    }
+
+    public int outDegree(int vertexId) {
+        return offsets.get(vertexId + 1) - offsets.get(vertexId);
+    }
+
+    public int target(int edgeId) {
+        return targets.get(edgeId);
+    }
+
+    public double weight(int edgeId) {
+        return weights.get(edgeId);
+    }
+
+    @Override
+    public Collection<Edge<V>> outgoingEdgesFrom(V vertex) {
+        int id = vertexIds.applyAsInt(vertex);
+        int first = offsets.get(id);
+        int size = offsets.get(id + 1) - first;
+        return new AbstractList<>() {
+            @Override
+            public Edge<V> get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                int edge = first + index;
+                return new Edge<>(vertex, vertices.apply(targets.get(edge)), weights.get(edge));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> allVertices() {
+        return new AbstractList<>() {
+            @Override
+            public V get(int index) {
+                if (index < 0 || index >= vertexCount) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return vertices.apply(index);
+            }
+
+            @Override
+            public int size() {
+                return vertexCount;
+            }
+        };
+    }
+
+    @Override
+    public Collection<Edge<V>> allEdges() {
+        return new AbstractList<>() {
+            @Override
+            public Edge<V> get(int index) {
+                if (index < 0 || index >= edgeCount) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return edgeAt(sourceOf(index), index);
+            }
+
+            @Override
+            public int size() {
+                return edgeCount;
+            }
+
+            @Override
+            public Iterator<Edge<V>> iterator() {
+                // walks the sources alongside the edges instead of searching for each one
+                return new Iterator<>() {
+                    private int source = 0;
+                    private int edge = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return edge < edgeCount;
+                    }
+
+                    @Override
+                    public Edge<V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        while (offsets.get(source + 1) <= edge) {
+                            source++;
+                        }
+                        return edgeAt(source, edge++);
+                    }
+                };
+            }
+        };
+    }
+
+    private Edge<V> edgeAt(int source, int edge) {
+        return new Edge<>(vertices.apply(source), vertices.apply(targets.get(edge)), weights.get(edge));
+    }
+
+    /**
+     * Returns the vertex whose edge range contains the edge, by binary search over the offsets.
+     */
+    private int sourceOf(int edge) {
+        int low = 0;
+        int high = vertexCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets.get(mid) <= edge) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,138 @@
+package graphs.minspantrees;
+
+import disjointsets.UnionBySizeArrayDisjointSets;
+import graphs.CsrGraph;
+import graphs.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes minimum spanning trees using Kruskal's algorithm directly on the arrays of a
+ * {@link CsrGraph}, such as one opened from a {@link graphs.MappedGraphFile}.
+ *
+ * Edges are handled as ids: their weights are copied into a {@code double[]} and sorted together
+ * with an {@code int[]} of edge ids, and the union-find runs over vertex ids with
+ * {@link UnionBySizeArrayDisjointSets}, so the work costs 16 bytes per edge (counting each edge's
+ * source) and no per-edge objects. {@link #findMinimumSpanningTree} creates {@code Edge}s only for
+ * the tree itself, and {@link #minimumSpanningForestEdgeIds} not even those.
+ *
+ * Like {@link KruskalMinimumSpanningTreeFinder}, every edge is treated as undirected.
+ *
+ * @see MinimumSpanningTreeFinder for more documentation.
+ */
+public class CsrKruskalMinimumSpanningTreeFinder<V> implements MinimumSpanningTreeFinder<CsrGraph<V>, V, Edge<V>> {
+    // ranges this small are finished by insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    @Override
+    public MinimumSpanningTree<V, Edge<V>> findMinimumSpanningTree(CsrGraph<V> graph) {
+        int[] edgeIds = minimumSpanningForestEdgeIds(graph);
+        if (graph.vertexCount() > 1 && edgeIds.length != graph.vertexCount() - 1) {
+            return new MinimumSpanningTree.Failure<>();
+        }
+        List<Edge<V>> mstEdges = new ArrayList<>(edgeIds.length);
+        int source = 0;
+        // the ids come back sorted, so the sources can be found in one pass over the offsets
+        for (int edgeId : edgeIds) {
+            while (graph.firstEdge(source + 1) <= edgeId) {
+                source++;
+            }
+            mstEdges.add(new Edge<>(graph.vertexOf(source), graph.vertexOf(graph.target(edgeId)),
+                graph.weight(edgeId)));
+        }
+        return new MinimumSpanningTree.Success<>(mstEdges);
+    }
+
+    /**
+     * Returns the ids of the edges of a minimum spanning forest, in increasing order.
+     */
+    public int[] minimumSpanningForestEdgeIds(CsrGraph<?> graph) {
+        int vertexCount = graph.vertexCount();
+        int edgeCount = graph.edgeCount();
+        int[] sources = new int[edgeCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            Arrays.fill(sources, graph.firstEdge(vertex), graph.firstEdge(vertex + 1), vertex);
+        }
+        int[] edgeIds = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            edgeIds[edge] = edge;
+            weights[edge] = graph.weight(edge);
+        }
+        sort(weights, edgeIds, 0, edgeCount);
+
+        UnionBySizeArrayDisjointSets<Void> components = new UnionBySizeArrayDisjointSets<>(Math.max(1, vertexCount));
+        components.makeSets(vertexCount);
+        int[] forest = new int[Math.max(0, vertexCount - 1)];
+        int forestSize = 0;
+        for (int i = 0; i < edgeCount && forestSize < forest.length; i++) {
+            int edge = edgeIds[i];
+            if (components.union(sources[edge], graph.target(edge))) {
+                forest[forestSize++] = edge;
+            }
+        }
+        int[] result = Arrays.copyOf(forest, forestSize);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Sorts {@code weights[lo, hi)} ascending, moving {@code ids} along with them, by quicksort with
+     * three-way partitioning (so runs of equal weights are cheap) and a median-of-three pivot.
+     */
+    private static void sort(double[] weights, int[] ids, int lo, int hi) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int mid = (lo + hi) >>> 1;
+            double pivot = medianOfThree(weights[lo], weights[mid], weights[hi - 1]);
+            // weights[lo, lt) < pivot, [lt, i) == pivot, [gt, hi) > pivot
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                int comparison = Double.compare(weights[i], pivot);
+                if (comparison < 0) {
+                    swap(weights, ids, lt++, i++);
+                } else if (comparison > 0) {
+                    swap(weights, ids, i, --gt);
+                } else {
+                    i++;
+                }
+            }
+            // recurse into the smaller side and loop on the larger, bounding the stack depth
+            if (lt - lo < hi - gt) {
+                sort(weights, ids, lo, lt);
+                lo = gt;
+            } else {
+                sort(weights, ids, gt, hi);
+                hi = lt;
+            }
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            double weight = weights[i];
+            int id = ids[i];
+            int j = i - 1;
+            while (j >= lo && Double.compare(weights[j], weight) > 0) {
+                weights[j + 1] = weights[j];
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            weights[j + 1] = weight;
+            ids[j + 1] = id;
+        }
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void swap(double[] weights, int[] ids, int a, int b) {
+        double weight = weights[a];
+        weights[a] = weights[b];
+        weights[b] = weight;
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+}
@@ -0,0 +1,262 @@
+package priorityqueues;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A d-ary min-heap with arity 2, 4 or 8, chosen at construction.
+ *
+ * Priorities and items are kept in parallel primitive/object arrays like {@link PrimitiveHeapMinPQ}.
+ * The children of a node are adjacent, so with arity 8 a sibling group's priorities fill 64 bytes
+ * and span at most two cache lines. Wider heaps are shallower, which makes {@code changePriority}
+ * decreases cheaper and {@code removeMin} touch fewer cache lines.
+ *
+ * @see ExtrinsicMinPQ
+ */
+public class DaryHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final int arity;
+    private final int shift;
+    private double[] priorities;
+    private Object[] items;
+    private final ItemIndex<T> positions;
+    private int size;
+
+    public DaryHeapMinPQ() {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * @param arity the number of children per node. Must be 2, 4 or 8.
+     */
+    public DaryHeapMinPQ(int arity) {
+        this(arity, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param arity the number of children per node. Must be 2, 4 or 8.
+     * @param initialCapacity the number of items the heap can hold before growing. Must be > 0.
+     */
+    public DaryHeapMinPQ(int arity, int initialCapacity) {
+        if ((arity != 2 && arity != 4 && arity != 8) || initialCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.arity = arity;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.priorities = new double[initialCapacity];
+        this.items = new Object[initialCapacity];
+        this.positions = new ItemIndex<>(initialCapacity);
+        this.size = 0;
+    }
+
+    /**
+     * Constructs a heap of the given arity holding the given items and priorities, built in linear
+     * time.
+     *
+     * @param arity the number of children per node. Must be 2, 4 or 8.
+     */
+    public DaryHeapMinPQ(int arity, Map<T, Double> initialItems) {
+        this(arity, Math.max(initialItems.size(), 1));
+        addAll(initialItems);
+    }
+
+    /**
+     * Returns the number of children per node.
+     */
+    public int arity() {
+        return arity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T itemAt(int node) {
+        return (T) items[node];
+    }
+
+    private double priorityAt(int node) {
+        return priorities[node];
+    }
+
+    private void place(int node, T item, double priority) {
+        items[node] = item;
+        priorities[node] = priority;
+        positions.put(item, node);
+    }
+
+    private void siftUp(int node) {
+        T item = itemAt(node);
+        double priority = priorityAt(node);
+        while (node > 0) {
+            int parent = (node - 1) >>> shift;
+            double parentPriority = priorityAt(parent);
+            if (parentPriority <= priority) {
+                break;
+            }
+            place(node, itemAt(parent), parentPriority);
+            node = parent;
+        }
+        place(node, item, priority);
+    }
+
+    private void siftDown(int node) {
+        T item = itemAt(node);
+        double priority = priorityAt(node);
+        while (true) {
+            int first = (node << shift) + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int best = first;
+            double bestPriority = priorityAt(first);
+            for (int child = first + 1; child < last; child++) {
+                double childPriority = priorityAt(child);
+                if (childPriority < bestPriority) {
+                    best = child;
+                    bestPriority = childPriority;
+                }
+            }
+            if (priority <= bestPriority) {
+                break;
+            }
+            place(node, itemAt(best), bestPriority);
+            node = best;
+        }
+        place(node, item, priority);
+    }
+
+    /**
+     * Restores the heap property over the whole array bottom-up (Floyd's method), in O(size) time.
+     */
+    private void heapify() {
+        for (int node = (size - 2) >> shift; node >= 0; node--) {
+            siftDown(node);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            int newLength = Math.max(items.length * 2, capacity);
+            items = Arrays.copyOf(items, newLength);
+            priorities = Arrays.copyOf(priorities, newLength);
+        }
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || positions.contains(item)) {
+            throw new IllegalArgumentException();
+        }
+        ensureCapacity(size + 1);
+        items[size] = item;
+        priorities[size] = priority;
+        size++;
+        siftUp(size - 1);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && positions.contains(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return itemAt(0);
+    }
+
+    @Override
+    public T removeMin() {
+        T minItem = peekMin();
+        positions.remove(minItem);
+        size--;
+        if (size > 0) {
+            items[0] = items[size];
+            priorities[0] = priorities[size];
+            items[size] = null;
+            siftDown(0);
+        } else {
+            items[0] = null;
+        }
+        return minItem;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        int node = item == null ? ItemIndex.ABSENT : positions.get(item);
+        if (node == ItemIndex.ABSENT) {
+            throw new NoSuchElementException();
+        }
+        double oldPriority = priorityAt(node);
+        priorities[node] = priority;
+        if (priority < oldPriority) {
+            siftUp(node);
+        } else if (priority > oldPriority) {
+            siftDown(node);
+        }
+    }
+
+    /**
+     * Adds all the given items with their priorities. When the batch is large relative to the heap,
+     * the heap is rebuilt once in linear time instead of sifting up each new item.
+     *
+     * @throws IllegalArgumentException if any item is null or already present, or a priority is null
+     */
+    public void addAll(Map<T, Double> newItems) {
+        HeapBatches.checkNewItems(newItems, item -> item != null && !positions.contains(item));
+        int oldSize = size;
+        ensureCapacity(size + newItems.size());
+        for (Map.Entry<T, Double> entry : newItems.entrySet()) {
+            items[size] = entry.getKey();
+            priorities[size] = entry.getValue();
+            positions.put(entry.getKey(), size);
+            size++;
+        }
+        if (HeapBatches.isLargeBatch(newItems.size(), oldSize)) {
+            heapify();
+        } else {
+            for (int node = oldSize; node < size; node++) {
+                siftUp(node);
+            }
+        }
+    }
+
+    /**
+     * Changes the priorities of all the given items. When the batch is large relative to the heap,
+     * the heap is repaired once in linear time instead of sifting each changed item.
+     *
+     * @throws NoSuchElementException if any item is not present
+     * @throws IllegalArgumentException if any priority is null
+     */
+    public void changePriorities(Map<T, Double> newPriorities) {
+        HeapBatches.checkNewPriorities(newPriorities, this::contains);
+        if (HeapBatches.isLargeBatch(newPriorities.size(), size)) {
+            for (Map.Entry<T, Double> entry : newPriorities.entrySet()) {
+                priorities[positions.get(entry.getKey())] = entry.getValue();
+            }
+            heapify();
+        } else {
+            for (Map.Entry<T, Double> entry : newPriorities.entrySet()) {
+                changePriority(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every item, keeping the allocated arrays for reuse.
+     */
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        positions.clear();
+        size = 0;
+    }
+}
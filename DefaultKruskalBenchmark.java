@@ -0,0 +1,87 @@
+package benchmarks;
+
+import graphs.CsrGraph;
+import graphs.Edge;
+import graphs.EdgeWithData;
+import graphs.minspantrees.KruskalMinimumSpanningTreeFinder;
+import graphs.minspantrees.MinimumSpanningTree;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.logic.MazeGraph;
+import mazes.logic.carvers.KruskalMazeCarver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link KruskalMinimumSpanningTreeFinder} as shipped, with its default quick-find
+ * disjoint sets, on generated graphs and inside {@link KruskalMazeCarver}.
+ *
+ * Quick-find unions take linear time, so these sizes stay small; the smallest of them match the
+ * smallest of {@link GraphAlgorithmBenchmark} and {@link MazeCarverBenchmark}, which measure the
+ * same work with union by size and path compression.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DefaultKruskalBenchmark {
+    private static final long SEED = 373;
+
+    @State(Scope.Thread)
+    public static class Graphs {
+        @Param({"GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+        GraphGenerators.Shape shape;
+
+        @Param({"1000", "10000"})
+        int vertices;
+
+        private CsrGraph<Integer> graph;
+        private KruskalMinimumSpanningTreeFinder<CsrGraph<Integer>, Integer, Edge<Integer>> kruskal;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            graph = shape.generate(vertices, SEED);
+            kruskal = new KruskalMinimumSpanningTreeFinder<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Mazes {
+        @Param({"32", "100"})
+        int side;
+
+        private Set<Wall> walls;
+        private BenchmarkKruskalMazeCarver carver;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            walls = BenchmarkKruskalMazeCarver.gridWalls(side);
+            carver = new BenchmarkKruskalMazeCarver(
+                new KruskalMinimumSpanningTreeFinder<MazeGraph, Room, EdgeWithData<Room, Wall>>(), SEED);
+        }
+    }
+
+    @Benchmark
+    public MinimumSpanningTree<Integer, Edge<Integer>> kruskalMinimumSpanningTree(Graphs state) {
+        return state.kruskal.findMinimumSpanningTree(state.graph);
+    }
+
+    @Benchmark
+    public Set<Wall> kruskalMazeCarver(Mazes state) {
+        return state.carver.carve(state.walls);
+    }
+}
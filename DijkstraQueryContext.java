@@ -0,0 +1,239 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reusable state for running Dijkstra's algorithm over graphs whose vertices have dense integer ids.
+ *
+ * Distances, parent edges and the priority queue live in arrays indexed by vertex id and are kept
+ * between searches. Instead of clearing them, each search bumps a generation counter and an entry
+ * only counts as set if its stamp matches the current generation, so starting a search is O(1) no
+ * matter how much the previous one touched. Apart from whatever the graph allocates to hand out
+ * edges, searches allocate nothing, and path extraction only allocates the returned path.
+ *
+ * A context is not thread-safe; give each thread its own (see
+ * {@link ReusableDijkstraShortestPathFinder}).
+ */
+public class DijkstraQueryContext<V, E extends BaseEdge<V, E>> {
+    private static final int NOT_QUEUED = -1;
+
+    private final ToIntFunction<V> vertexIds;
+    private final double[] distances;
+    private final Object[] parentEdges;
+    private final int[] stamps;
+    private int generation;
+
+    // binary heap of vertex ids ordered by distance, with each id's position in the heap
+    private final int[] heap;
+    private final int[] heapPositions;
+    private int heapSize;
+
+    // vertex objects by id, recorded as they are reached so edges can be followed from them
+    private final Object[] vertices;
+    private Object[] pathBuffer;
+
+    /**
+     * @param vertexCount the number of vertex ids; ids must lie in {@code [0, vertexCount)}.
+     * @param vertexIds maps each vertex to its id.
+     */
+    public DijkstraQueryContext(int vertexCount, ToIntFunction<V> vertexIds) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.vertexIds = vertexIds;
+        this.distances = new double[vertexCount];
+        this.parentEdges = new Object[vertexCount];
+        this.stamps = new int[vertexCount];
+        this.heap = new int[vertexCount];
+        this.heapPositions = new int[vertexCount];
+        this.vertices = new Object[vertexCount];
+        this.pathBuffer = new Object[16];
+    }
+
+    /**
+     * Searches from {@code start} until {@code end} is settled, or until every reachable vertex is
+     * settled if {@code end} is null.
+     *
+     * @return whether {@code end} was reached (always true for one-to-all searches).
+     */
+    public boolean search(Graph<V, E> graph, V start, V end) {
+        reset();
+        int startId = vertexIds.applyAsInt(start);
+        int endId = end == null ? NOT_QUEUED : vertexIds.applyAsInt(end);
+        reach(startId, start, 0.0, null);
+        push(startId);
+
+        while (heapSize > 0) {
+            int currentId = pop();
+            if (currentId == endId) {
+                return true;
+            }
+            @SuppressWarnings("unchecked")
+            V currentVertex = (V) vertices[currentId];
+            double currentDistance = distances[currentId];
+            for (E edge : graph.outgoingEdgesFrom(currentVertex)) {
+                V targetVertex = edge.to();
+                int targetId = vertexIds.applyAsInt(targetVertex);
+                double newDistance = currentDistance + edge.weight();
+                if (!isReached(targetId)) {
+                    reach(targetId, targetVertex, newDistance, edge);
+                    push(targetId);
+                } else if (newDistance < distances[targetId]) {
+                    distances[targetId] = newDistance;
+                    parentEdges[targetId] = edge;
+                    if (heapPositions[targetId] == NOT_QUEUED) {
+                        push(targetId);
+                    } else {
+                        siftUp(heapPositions[targetId]);
+                    }
+                }
+            }
+        }
+        return end == null;
+    }
+
+    /**
+     * Settles every vertex reachable from {@code start}.
+     */
+    public void searchAll(Graph<V, E> graph, V start) {
+        search(graph, start, null);
+    }
+
+    /**
+     * Returns the distance to the vertex found by the last search, or infinity if it was not reached.
+     * After an early-stopping search, only the distance to the end vertex is guaranteed minimal.
+     */
+    public double distanceTo(V vertex) {
+        return distanceTo(vertexIds.applyAsInt(vertex));
+    }
+
+    /**
+     * Returns the distance to the vertex with the given id; see {@link #distanceTo(Object)}.
+     */
+    public double distanceTo(int vertexId) {
+        return isReached(vertexId) ? distances[vertexId] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the last edge on the shortest path to the vertex found by the last search, or null if
+     * the vertex is the start or was not reached.
+     */
+    @SuppressWarnings("unchecked")
+    public E parentEdge(V vertex) {
+        int id = vertexIds.applyAsInt(vertex);
+        return isReached(id) ? (E) parentEdges[id] : null;
+    }
+
+    /**
+     * Returns the shortest path from {@code start} to {@code end} found by the last search, which
+     * must have started at {@code start}.
+     */
+    public ShortestPath<V, E> extractShortestPath(V start, V end) {
+        if (start.equals(end)) {
+            return new ShortestPath.SingleVertex<>(start);
+        }
+        int count = 0;
+        for (E edge = parentEdge(end); edge != null; edge = parentEdge(edge.from())) {
+            if (count == pathBuffer.length) {
+                pathBuffer = Arrays.copyOf(pathBuffer, pathBuffer.length * 2);
+            }
+            pathBuffer[count++] = edge;
+        }
+        if (count == 0) {
+            return new ShortestPath.Failure<>();
+        }
+        List<E> pathEdges = new ArrayList<>(count);
+        for (int i = count - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            E edge = (E) pathBuffer[i];
+            pathEdges.add(edge);
+            pathBuffer[i] = null;
+        }
+        return new ShortestPath.Success<>(pathEdges);
+    }
+
+    private void reset() {
+        heapSize = 0;
+        generation++;
+        if (generation == 0) {
+            // stamps from 2^32 searches ago would look current again
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    private boolean isReached(int id) {
+        return stamps[id] == generation;
+    }
+
+    private void reach(int id, V vertex, double distance, E parentEdge) {
+        stamps[id] = generation;
+        vertices[id] = vertex;
+        distances[id] = distance;
+        parentEdges[id] = parentEdge;
+        heapPositions[id] = NOT_QUEUED;
+    }
+
+    private void push(int id) {
+        heap[heapSize] = id;
+        heapPositions[id] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private int pop() {
+        int min = heap[0];
+        heapPositions[min] = NOT_QUEUED;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPositions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int index) {
+        int id = heap[index];
+        double distance = distances[id];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int parentId = heap[parent];
+            if (distances[parentId] <= distance) {
+                break;
+            }
+            heap[index] = parentId;
+            heapPositions[parentId] = index;
+            index = parent;
+        }
+        heap[index] = id;
+        heapPositions[id] = index;
+    }
+
+    private void siftDown(int index) {
+        int id = heap[index];
+        double distance = distances[id];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && distances[heap[child + 1]] < distances[heap[child]]) {
+                child++;
+            }
+            int childId = heap[child];
+            if (distance <= distances[childId]) {
+                break;
+            }
+            heap[index] = childId;
+            heapPositions[childId] = index;
+            index = child;
+        }
+        heap[index] = id;
+        heapPositions[id] = index;
+    }
+}
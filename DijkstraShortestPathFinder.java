@@ -4,6 +4,7 @@ import graphs.BaseEdge;
 import graphs.Graph;
 import priorityqueues.DoubleMapMinPQ;
 import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQKind;
 
 import java.util.Collections;
 import java.util.LinkedList;
@@ -18,13 +19,30 @@ import java.util.HashMap;
 public class DijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
     extends SPTShortestPathFinder<G, V, E> {
 
+    private final MinPQKind minPQKind;
+
+    /**
+     * Constructs a new finder that uses {@link DoubleMapMinPQ} as its priority queue.
+     */
+    public DijkstraShortestPathFinder() {
+        this(MinPQKind.DOUBLE_MAP);
+    }
+
+    /**
+     * Constructs a new finder that uses the given kind of priority queue.
+     */
+    public DijkstraShortestPathFinder(MinPQKind minPQKind) {
+        this.minPQKind = minPQKind;
+    }
+
     protected <T> ExtrinsicMinPQ<T> createMinPQ() {
-        return new DoubleMapMinPQ<>();
+        return minPQKind.create();
         /*
-        If you have confidence in your heap implementation, you can disable the line above
-        and enable the one below.
+        If you have confidence in your heap implementation, you can construct this finder with
+        MinPQKind.ARRAY_HEAP, MinPQKind.PRIMITIVE_HEAP for the allocation-free variant, or one of
+        the DARY_HEAP kinds for large frontiers. MinPQKind.MONOTONE_PAIRING_HEAP suits graphs with
+        many decrease-keys, and relies on edge weights being non-negative.
          */
-        // return new ArrayHeapMinPQ<>();
 
         /*
         Otherwise, do not change this method.
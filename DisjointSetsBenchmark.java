@@ -0,0 +1,159 @@
+package benchmarks;
+
+import disjointsets.DisjointSets;
+import disjointsets.UnionBySizeArrayDisjointSets;
+import disjointsets.UnionBySizeCompressingDisjointSets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-threaded {@link DisjointSets} implementations on making every item a set,
+ * unioning them in a given order until one set remains, then finding every item's set.
+ *
+ * Union orders:
+ * <ul>
+ *     <li>{@code SEQUENTIAL} joins each item to the next, building one long chain;</li>
+ *     <li>{@code RANDOM} takes the items in a random order, joining each to a random earlier one;</li>
+ *     <li>{@code ADVERSARIAL} merges sets of equal size in rounds, as a binomial tree, which gives
+ *     union by size its tallest trees; finds then run from the last item down.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DisjointSetsBenchmark {
+    private static final long SEED = 373;
+
+    @Param({"1000", "100000", "10000000"})
+    int items;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ADVERSARIAL"})
+    String unionOrder;
+
+    private Integer[] boxedItems;
+    private int[] unionsFrom;
+    private int[] unionsTo;
+    private int[] findOrder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boxedItems = new Integer[items];
+        for (int i = 0; i < items; i++) {
+            boxedItems[i] = i;
+        }
+        unionsFrom = new int[items - 1];
+        unionsTo = new int[items - 1];
+        findOrder = new int[items];
+        switch (unionOrder) {
+            case "SEQUENTIAL":
+                for (int i = 0; i + 1 < items; i++) {
+                    unionsFrom[i] = i;
+                    unionsTo[i] = i + 1;
+                }
+                break;
+            case "RANDOM":
+                int[] order = shuffledItems(new Random(SEED));
+                Random random = new Random(SEED + 1);
+                for (int i = 1; i < items; i++) {
+                    unionsFrom[i - 1] = order[i];
+                    unionsTo[i - 1] = order[random.nextInt(i)];
+                }
+                break;
+            case "ADVERSARIAL":
+                int count = 0;
+                for (int step = 1; step < items; step *= 2) {
+                    for (int i = 0; i + step < items; i += 2 * step) {
+                        unionsFrom[count] = i;
+                        unionsTo[count] = i + step;
+                        count++;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown union order: " + unionOrder);
+        }
+        for (int i = 0; i < items; i++) {
+            findOrder[i] = unionOrder.equals("ADVERSARIAL") ? items - 1 - i : i;
+        }
+    }
+
+    private int[] shuffledItems(Random random) {
+        int[] order = new int[items];
+        for (int i = 0; i < items; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        return order;
+    }
+
+    /**
+     * The implementation under test, kept in its own state so that benchmarks not using it do not
+     * run once per implementation.
+     */
+    @State(Scope.Thread)
+    public static class Implementation {
+        @Param({"UNION_BY_SIZE_COMPRESSING", "UNION_BY_SIZE_ARRAY"})
+        String implementation;
+
+        DisjointSets<Integer> createDisjointSets(int items) {
+            switch (implementation) {
+                case "UNION_BY_SIZE_COMPRESSING":
+                    return new UnionBySizeCompressingDisjointSets<>();
+                case "UNION_BY_SIZE_ARRAY":
+                    return new UnionBySizeArrayDisjointSets<>(items);
+                default:
+                    throw new IllegalArgumentException("unknown implementation: " + implementation);
+            }
+        }
+    }
+
+    @Benchmark
+    public int makeUnionFind(Implementation implementation) {
+        DisjointSets<Integer> sets = implementation.createDisjointSets(items);
+        for (Integer item : boxedItems) {
+            sets.makeSet(item);
+        }
+        for (int i = 0; i < unionsFrom.length; i++) {
+            sets.union(boxedItems[unionsFrom[i]], boxedItems[unionsTo[i]]);
+        }
+        int sum = 0;
+        for (int item : findOrder) {
+            sum += sets.findSet(boxedItems[item]);
+        }
+        return sum;
+    }
+
+    /**
+     * {@link UnionBySizeArrayDisjointSets} through its int-id methods, without the item map.
+     */
+    @Benchmark
+    public int makeUnionFindIds() {
+        UnionBySizeArrayDisjointSets<Void> sets = new UnionBySizeArrayDisjointSets<>(items);
+        sets.makeSets(items);
+        for (int i = 0; i < unionsFrom.length; i++) {
+            sets.union(unionsFrom[i], unionsTo[i]);
+        }
+        int sum = 0;
+        for (int item : findOrder) {
+            sum += sets.find(item);
+        }
+        return sum;
+    }
+}
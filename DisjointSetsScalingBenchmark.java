@@ -0,0 +1,88 @@
+package benchmarks;
+
+import disjointsets.LockFreeDisjointSets;
+import disjointsets.UnionBySizeCompressingDisjointSets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures how {@link LockFreeDisjointSets} scales with the number of threads applying a fixed batch
+ * of random unions, against single-threaded {@link UnionBySizeCompressingDisjointSets} on the same
+ * batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DisjointSetsScalingBenchmark {
+    private static final long SEED = 373;
+
+    @Param({"1000000"})
+    int items;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    int parallelism;
+
+    private int[] unionsFrom;
+    private int[] unionsTo;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+        unionsFrom = new int[items];
+        unionsTo = new int[items];
+        for (int i = 0; i < items; i++) {
+            unionsFrom[i] = random.nextInt(items);
+            unionsTo[i] = random.nextInt(items);
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int lockFree() {
+        LockFreeDisjointSets<Integer> sets = new LockFreeDisjointSets<>(items);
+        sets.makeSets(items);
+        pool.submit(() -> IntStream.range(0, items).parallel()
+            .forEach(i -> sets.union(unionsFrom[i], unionsTo[i]))).join();
+        return sets.find(0);
+    }
+
+    /**
+     * The sequential baseline; its time does not depend on {@code parallelism}.
+     */
+    @Benchmark
+    public int unionBySizeCompressing() {
+        UnionBySizeCompressingDisjointSets<Integer> sets = new UnionBySizeCompressingDisjointSets<>();
+        for (int i = 0; i < items; i++) {
+            sets.makeSet(i);
+        }
+        for (int i = 0; i < items; i++) {
+            sets.union(unionsFrom[i], unionsTo[i]);
+        }
+        return sets.findSet(0);
+    }
+}
@@ -0,0 +1,109 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+
+import java.nio.DoubleBuffer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Computes shortest path distances from many sources to many targets.
+ *
+ * Runs one one-to-all Dijkstra search per source, rather than one search per source-target pair,
+ * and reads every target's distance off it. Sources are spread over a {@link ForkJoinPool}, and
+ * each worker thread reuses a single {@link DijkstraQueryContext} for all its searches.
+ *
+ * Unreachable targets get a distance of {@link Double#POSITIVE_INFINITY}.
+ */
+public class DistanceMatrixCalculator<G extends Graph<V, E>, V, E extends BaseEdge<V, E>> {
+    private final ToIntFunction<V> vertexIds;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<DijkstraQueryContext<V, E>> contexts;
+
+    /**
+     * Constructs a calculator that runs on the common fork-join pool.
+     *
+     * @param vertexCount the number of vertex ids; ids must lie in {@code [0, vertexCount)}.
+     * @param vertexIds maps each vertex to its id.
+     */
+    public DistanceMatrixCalculator(int vertexCount, ToIntFunction<V> vertexIds) {
+        this(vertexCount, vertexIds, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a calculator that runs on the given pool.
+     *
+     * @param vertexCount the number of vertex ids; ids must lie in {@code [0, vertexCount)}.
+     * @param vertexIds maps each vertex to its id.
+     */
+    public DistanceMatrixCalculator(int vertexCount, ToIntFunction<V> vertexIds, ForkJoinPool pool) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.vertexIds = vertexIds;
+        this.pool = pool;
+        this.contexts = ThreadLocal.withInitial(() -> new DijkstraQueryContext<>(vertexCount, vertexIds));
+    }
+
+    /**
+     * Returns the matrix whose entry {@code [i][j]} is the distance from {@code sources.get(i)} to
+     * {@code targets.get(j)}.
+     */
+    public double[][] distances(G graph, List<V> sources, List<V> targets) {
+        int[] targetIds = idsOf(targets);
+        double[][] matrix = new double[sources.size()][targetIds.length];
+        pool.submit(() -> IntStream.range(0, sources.size()).parallel().forEach(i -> {
+            DijkstraQueryContext<V, E> context = search(graph, sources.get(i));
+            double[] row = matrix[i];
+            for (int j = 0; j < targetIds.length; j++) {
+                row[j] = context.distanceTo(targetIds[j]);
+            }
+        })).join();
+        return matrix;
+    }
+
+    /**
+     * Writes the distance matrix into {@code out} in row-major order, starting at its current
+     * position: the distance from {@code sources.get(i)} to {@code targets.get(j)} goes to index
+     * {@code position + i * targets.size() + j}. The buffer's position is left unchanged.
+     *
+     * Passing a direct buffer keeps large matrices off the heap.
+     *
+     * @throws IllegalArgumentException if the buffer has fewer than
+     *                                  {@code sources.size() * targets.size()} elements remaining.
+     */
+    public void distancesInto(G graph, List<V> sources, List<V> targets, DoubleBuffer out) {
+        int[] targetIds = idsOf(targets);
+        long cells = (long) sources.size() * targetIds.length;
+        if (cells > out.remaining()) {
+            throw new IllegalArgumentException("buffer too small for " + cells + " distances");
+        }
+        int base = out.position();
+        pool.submit(() -> IntStream.range(0, sources.size()).parallel().forEach(i -> {
+            DijkstraQueryContext<V, E> context = search(graph, sources.get(i));
+            // buffers are not thread-safe, so each row is written through its own view
+            DoubleBuffer row = out.duplicate();
+            int rowStart = base + i * targetIds.length;
+            for (int j = 0; j < targetIds.length; j++) {
+                row.put(rowStart + j, context.distanceTo(targetIds[j]));
+            }
+        })).join();
+    }
+
+    private DijkstraQueryContext<V, E> search(G graph, V source) {
+        DijkstraQueryContext<V, E> context = contexts.get();
+        context.searchAll(graph, source);
+        return context;
+    }
+
+    private int[] idsOf(List<V> vertices) {
+        int[] ids = new int[vertices.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = vertexIds.applyAsInt(vertices.get(i));
+        }
+        return ids;
+    }
+}
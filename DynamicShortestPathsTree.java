@@ -0,0 +1,269 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQKind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A shortest paths tree from a single source that is repaired, rather than rebuilt, when edge
+ * weights change.
+ *
+ * Edge objects are immutable, so changed weights are kept as overrides by edge. After a batch of
+ * changes, only the vertices whose distances can have changed are recomputed, in the style of
+ * Ramalingam and Reps:
+ * <ul>
+ *     <li>a tree edge that got heavier invalidates the subtree below it; each invalidated vertex
+ *     is re-seeded from its cheapest incoming edge from outside the subtree;</li>
+ *     <li>an edge that got lighter seeds its target if it now offers a shorter path;</li>
+ *     <li>a Dijkstra search from the seeds then settles the changes, and stops on its own where
+ *     distances stop improving.</li>
+ * </ul>
+ * The cost is proportional to the part of the tree that changes, not to the graph.
+ *
+ * Re-seeding needs each vertex's incoming edges. By default the graph is treated as undirected
+ * (each direction stored as its own edge, whose weight changes must then be applied to both), and
+ * incoming edges are found among the neighbors' outgoing edges; for directed graphs, pass a
+ * function returning the edges that end at a vertex. Weights must stay non-negative.
+ */
+public class DynamicShortestPathsTree<G extends Graph<V, E>, V, E extends BaseEdge<V, E>> {
+    private final G graph;
+    private final V source;
+    private final BiFunction<G, V, Collection<E>> incomingEdges;
+    private final DijkstraShortestPathFinder<G, V, E> finder;
+
+    private final Map<V, E> spt;
+    private final Map<V, Double> distances = new HashMap<>();
+    private final Map<V, Set<V>> children = new HashMap<>();
+    private final Map<E, Double> weightOverrides = new HashMap<>();
+
+    /**
+     * Builds the tree for an undirected graph using {@link priorityqueues.DoubleMapMinPQ}.
+     */
+    public DynamicShortestPathsTree(G graph, V source) {
+        this(graph, source, DynamicShortestPathsTree::undirectedIncomingEdges, MinPQKind.DOUBLE_MAP);
+    }
+
+    /**
+     * Builds the tree with Dijkstra's algorithm.
+     *
+     * @param incomingEdges returns the edges of the graph that lead into the given vertex.
+     * @param minPQKind the kind of priority queue to use for building and repairing.
+     */
+    public DynamicShortestPathsTree(G graph, V source, BiFunction<G, V, Collection<E>> incomingEdges,
+                                    MinPQKind minPQKind) {
+        this(graph, source, new DijkstraShortestPathFinder<G, V, E>(minPQKind)
+            .constructShortestPathsTree(graph, source, null), incomingEdges, minPQKind);
+    }
+
+    /**
+     * Adopts a previously computed shortest paths tree, such as one returned by
+     * {@link DijkstraShortestPathFinder#constructShortestPathsTree} with no end vertex. Vertices
+     * whose tree edges do not lead back to the source are dropped.
+     *
+     * @param spt the tree, mapping each vertex to the last edge on its shortest path.
+     * @param incomingEdges returns the edges of the graph that lead into the given vertex.
+     * @param minPQKind the kind of priority queue to use for repairing.
+     */
+    public DynamicShortestPathsTree(G graph, V source, Map<V, E> spt,
+                                    BiFunction<G, V, Collection<E>> incomingEdges, MinPQKind minPQKind) {
+        this.graph = graph;
+        this.source = source;
+        this.incomingEdges = incomingEdges;
+        this.finder = new DijkstraShortestPathFinder<>(minPQKind);
+        this.spt = new HashMap<>();
+
+        Map<V, List<E>> treeEdgesFrom = new HashMap<>();
+        for (E edge : spt.values()) {
+            treeEdgesFrom.computeIfAbsent(edge.from(), vertex -> new ArrayList<>()).add(edge);
+        }
+        distances.put(source, 0.0);
+        Deque<V> toVisit = new ArrayDeque<>();
+        toVisit.add(source);
+        while (!toVisit.isEmpty()) {
+            V vertex = toVisit.remove();
+            for (E edge : treeEdgesFrom.getOrDefault(vertex, List.of())) {
+                V child = edge.to();
+                if (!child.equals(source) && !distances.containsKey(child) && edge.equals(spt.get(child))) {
+                    distances.put(child, distances.get(vertex) + edge.weight());
+                    setTreeEdge(child, edge);
+                    toVisit.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the edges leading into a vertex of an undirected graph that stores each direction as
+     * a separate edge.
+     */
+    private static <G extends Graph<V, E>, V, E extends BaseEdge<V, E>> Collection<E> undirectedIncomingEdges(
+        G graph, V vertex) {
+        List<E> incoming = new ArrayList<>();
+        Set<V> neighbors = new HashSet<>();
+        for (E edge : graph.outgoingEdgesFrom(vertex)) {
+            if (neighbors.add(edge.to())) {
+                for (E back : graph.outgoingEdgesFrom(edge.to())) {
+                    if (back.to().equals(vertex)) {
+                        incoming.add(back);
+                    }
+                }
+            }
+        }
+        return incoming;
+    }
+
+    public V source() {
+        return source;
+    }
+
+    /**
+     * Returns the current weight of the edge, taking changes into account.
+     */
+    public double weightOf(E edge) {
+        Double override = weightOverrides.get(edge);
+        return override == null ? edge.weight() : override;
+    }
+
+    /**
+     * Returns the distance from the source to the vertex, or infinity if it is unreachable.
+     */
+    public double distanceTo(V vertex) {
+        return distances.getOrDefault(vertex, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns a read-only view of the tree, mapping each reachable vertex other than the source to
+     * the last edge on its shortest path.
+     */
+    public Map<V, E> shortestPathsTree() {
+        return Collections.unmodifiableMap(spt);
+    }
+
+    /**
+     * Returns the shortest path from the source to the vertex.
+     */
+    public ShortestPath<V, E> shortestPathTo(V target) {
+        return finder.extractShortestPath(spt, source, target);
+    }
+
+    /**
+     * Applies a batch of new edge weights and repairs the tree. Edges are matched with
+     * {@code equals}, so a change may name an edge with any equal object, such as one rebuilt from
+     * its endpoints and original weight, rather than the instance stored in the graph or tree.
+     *
+     * @throws IllegalArgumentException if a weight is negative.
+     */
+    public void updateWeights(Map<E, Double> newWeights) {
+        List<E> lighterEdges = new ArrayList<>();
+        Set<V> invalidated = new HashSet<>();
+        for (Map.Entry<E, Double> change : newWeights.entrySet()) {
+            E edge = change.getKey();
+            double newWeight = change.getValue();
+            if (newWeight < 0) {
+                throw new IllegalArgumentException("negative weight: " + newWeight);
+            }
+            double oldWeight = weightOf(edge);
+            if (newWeight == edge.weight()) {
+                weightOverrides.remove(edge);
+            } else {
+                weightOverrides.put(edge, newWeight);
+            }
+            if (newWeight < oldWeight) {
+                lighterEdges.add(edge);
+            } else if (newWeight > oldWeight && edge.equals(spt.get(edge.to()))) {
+                collectSubtree(edge.to(), invalidated);
+            }
+        }
+
+        for (V vertex : invalidated) {
+            distances.remove(vertex);
+            E treeEdge = spt.remove(vertex);
+            Set<V> siblings = children.get(treeEdge.from());
+            if (siblings != null) {
+                siblings.remove(vertex);
+            }
+            children.remove(vertex);
+        }
+
+        ExtrinsicMinPQ<V> queue = finder.createMinPQ();
+        for (V vertex : invalidated) {
+            for (E edge : incomingEdges.apply(graph, vertex)) {
+                offer(queue, edge);
+            }
+        }
+        for (E edge : lighterEdges) {
+            offer(queue, edge);
+        }
+
+        while (!queue.isEmpty()) {
+            V vertex = queue.removeMin();
+            for (E edge : graph.outgoingEdgesFrom(vertex)) {
+                offer(queue, edge);
+            }
+        }
+    }
+
+    /**
+     * Adds the vertex and all its descendants in the tree to {@code subtree}.
+     */
+    private void collectSubtree(V root, Set<V> subtree) {
+        Deque<V> toVisit = new ArrayDeque<>();
+        if (subtree.add(root)) {
+            toVisit.add(root);
+        }
+        while (!toVisit.isEmpty()) {
+            for (V child : children.getOrDefault(toVisit.remove(), Set.of())) {
+                if (subtree.add(child)) {
+                    toVisit.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Relaxes the edge: if it gives its target a shorter path, makes it the target's tree edge and
+     * queues or re-prioritizes the target.
+     */
+    private void offer(ExtrinsicMinPQ<V> queue, E edge) {
+        Double fromDistance = distances.get(edge.from());
+        if (fromDistance == null) {
+            return;
+        }
+        V target = edge.to();
+        double newDistance = fromDistance + weightOf(edge);
+        if (newDistance >= distanceTo(target)) {
+            return;
+        }
+        distances.put(target, newDistance);
+        setTreeEdge(target, edge);
+        if (queue.contains(target)) {
+            queue.changePriority(target, newDistance);
+        } else {
+            queue.add(target, newDistance);
+        }
+    }
+
+    private void setTreeEdge(V vertex, E edge) {
+        E previous = spt.put(vertex, edge);
+        if (previous != null) {
+            Set<V> siblings = children.get(previous.from());
+            if (siblings != null) {
+                siblings.remove(vertex);
+            }
+        }
+        children.computeIfAbsent(edge.from(), from -> new HashSet<>()).add(vertex);
+    }
+}
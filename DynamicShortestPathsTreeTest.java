@@ -0,0 +1,134 @@
+package benchmarks;
+
+import graphs.CsrGraph;
+import graphs.Edge;
+import graphs.shortestpaths.CsrDijkstraShortestPathFinder;
+import graphs.shortestpaths.DynamicShortestPathsTree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A self-checking test for {@link DynamicShortestPathsTree} on random grids. After every batch of
+ * weight changes, the repaired distances and tree edges are checked against a fresh search of the
+ * graph rebuilt with the new weights.
+ *
+ * Changes are always named by freshly built {@link Edge} objects that are equal to, but not the
+ * same instances as, the edges held by the graph and the tree, as a caller that only knows an
+ * edge's endpoints and weight would build them:
+ * <ul>
+ *     <li>raising the weight of one tree edge (in both directions) must invalidate its subtree;</li>
+ *     <li>random batches of raised and lowered weights must leave the same distances as a full
+ *     search.</li>
+ * </ul>
+ *
+ * Usage: {@code DynamicShortestPathsTreeTest [width [rounds]]}. Throws {@link IllegalStateException}
+ * on the first failed check.
+ */
+public class DynamicShortestPathsTreeTest {
+    private static final long SEED = 373;
+    private static final double EPSILON = 1e-9;
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Random random = new Random(SEED);
+        for (int round = 0; round < rounds; round++) {
+            long seed = random.nextLong();
+            checkRaisedTreeEdge(width, seed);
+            checkRandomBatches(width, seed);
+            System.out.println("round " + round + ": ok");
+        }
+    }
+
+    private static void checkRaisedTreeEdge(int width, long seed) {
+        CsrGraph<Integer> graph = GraphGenerators.grid(width, width, seed);
+        DynamicShortestPathsTree<CsrGraph<Integer>, Integer, Edge<Integer>> tree =
+            new DynamicShortestPathsTree<>(graph, 0);
+        Map<Edge<Integer>, Double> weights = currentWeights(graph);
+
+        // walk up from the far corner to the source's own tree edge, whose subtree includes that corner
+        Edge<Integer> treeEdge = tree.shortestPathsTree().get(graph.vertexCount() - 1);
+        while (!treeEdge.from().equals(0)) {
+            treeEdge = tree.shortestPathsTree().get(treeEdge.from());
+        }
+        double raised = treeEdge.weight() * 100;
+        Map<Edge<Integer>, Double> changes = new HashMap<>();
+        changes.put(new Edge<>(treeEdge.from(), treeEdge.to(), treeEdge.weight()), raised);
+        changes.put(new Edge<>(treeEdge.to(), treeEdge.from(), treeEdge.weight()), raised);
+        tree.updateWeights(changes);
+        weights.putAll(changes);
+
+        check(!treeEdge.equals(tree.shortestPathsTree().get(treeEdge.to())),
+            "raised edge " + treeEdge.from() + " -> " + treeEdge.to() + " is still a tree edge");
+        checkTree(graph, tree, weights);
+    }
+
+    private static void checkRandomBatches(int width, long seed) {
+        Random random = new Random(seed);
+        CsrGraph<Integer> graph = GraphGenerators.grid(width, width, seed);
+        DynamicShortestPathsTree<CsrGraph<Integer>, Integer, Edge<Integer>> tree =
+            new DynamicShortestPathsTree<>(graph, random.nextInt(graph.vertexCount()));
+        Map<Edge<Integer>, Double> weights = currentWeights(graph);
+        List<Edge<Integer>> edges = new ArrayList<>(weights.keySet());
+
+        for (int batch = 0; batch < 10; batch++) {
+            Map<Edge<Integer>, Double> changes = new HashMap<>();
+            for (int i = 0; i < 1 + random.nextInt(width); i++) {
+                Edge<Integer> edge = edges.get(random.nextInt(edges.size()));
+                double factor = random.nextBoolean() ? 0.1 + random.nextDouble() : 1 + 5 * random.nextDouble();
+                double newWeight = weights.get(edge) * factor;
+                changes.put(new Edge<>(edge.from(), edge.to(), edge.weight()), newWeight);
+                changes.put(new Edge<>(edge.to(), edge.from(), edge.weight()), newWeight);
+            }
+            tree.updateWeights(changes);
+            weights.putAll(changes);
+            checkTree(graph, tree, weights);
+        }
+    }
+
+    /**
+     * Maps every edge of the graph to its weight. Each undirected grid edge is stored as two
+     * directed edges of equal weight, and no two directed edges are equal.
+     */
+    private static Map<Edge<Integer>, Double> currentWeights(CsrGraph<Integer> graph) {
+        Map<Edge<Integer>, Double> weights = new HashMap<>();
+        for (Edge<Integer> edge : graph.allEdges()) {
+            weights.put(edge, edge.weight());
+        }
+        return weights;
+    }
+
+    private static void checkTree(CsrGraph<Integer> graph,
+                                  DynamicShortestPathsTree<CsrGraph<Integer>, Integer, Edge<Integer>> tree,
+                                  Map<Edge<Integer>, Double> weights) {
+        List<Edge<Integer>> reweighted = new ArrayList<>();
+        for (Map.Entry<Edge<Integer>, Double> entry : weights.entrySet()) {
+            reweighted.add(new Edge<>(entry.getKey().from(), entry.getKey().to(), entry.getValue()));
+        }
+        CsrGraph<Integer> expected = CsrGraph.fromEdges(graph.allVertices(), reweighted);
+        CsrDijkstraShortestPathFinder<Integer> finder = new CsrDijkstraShortestPathFinder<>();
+        int source = expected.idOf(tree.source());
+        for (Integer vertex : graph.allVertices()) {
+            double distance = finder.distance(expected, source, expected.idOf(vertex));
+            check(Math.abs(tree.distanceTo(vertex) - distance) <= EPSILON * Math.max(1, distance),
+                "distance to " + vertex + " is " + tree.distanceTo(vertex) + "; expected " + distance);
+        }
+        for (Map.Entry<Integer, Edge<Integer>> entry : tree.shortestPathsTree().entrySet()) {
+            Edge<Integer> edge = entry.getValue();
+            double viaEdge = tree.distanceTo(edge.from()) + tree.weightOf(edge);
+            check(edge.to().equals(entry.getKey())
+                && Math.abs(viaEdge - tree.distanceTo(edge.to())) <= EPSILON * viaEdge,
+                "tree edge " + edge.from() + " -> " + edge.to() + " does not give its target's distance");
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
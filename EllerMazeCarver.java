@@ -0,0 +1,194 @@
+package mazes.logic.carvers;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Carves out a grid maze row by row using Eller's algorithm, in memory proportional to its width.
+ *
+ * Only the current row is kept: which set (group of rooms already connected to each other) each
+ * room belongs to. Each row randomly joins neighboring rooms from different sets, then carries
+ * every set down to the next row through at least one randomly chosen opening; rooms of the next
+ * row without an opening above start sets of their own. The last row joins whatever sets remain,
+ * so the result is a perfect maze: every room reachable from every other by exactly one path.
+ *
+ * Removed walls are handed to a {@link RemovedWallConsumer} as they are chosen, so a maze of any
+ * height can be streamed to a file or renderer, and {@link #carveRow} can keep extending it
+ * indefinitely.
+ */
+public class EllerMazeCarver {
+    /**
+     * Which wall of a room is removed.
+     */
+    public enum Side {
+        /** The wall between {@code (row, col)} and {@code (row, col + 1)}. */
+        EAST,
+        /** The wall between {@code (row, col)} and {@code (row + 1, col)}. */
+        SOUTH
+    }
+
+    /**
+     * Receives each removed wall, as the room it belongs to and the side it is on.
+     */
+    @FunctionalInterface
+    public interface RemovedWallConsumer {
+        void accept(long row, int col, Side side);
+    }
+
+    private final int width;
+    private final SplittableRandom random;
+
+    // set label of each room in the current row; labels are recycled and always lie in [0, width)
+    private final int[] sets;
+    private final int[] parents;
+    private final int[] roomCounts;
+    private final int[] chosenRooms;
+    private final boolean[] carriedDown;
+    private final boolean[] labelInUse;
+    private long row;
+    private boolean finished;
+
+    /**
+     * @param width the number of rooms per row. Must be positive.
+     * @param seed determines the maze.
+     */
+    public EllerMazeCarver(int width, long seed) {
+        if (width <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.width = width;
+        this.random = new SplittableRandom(seed);
+        this.sets = new int[width];
+        this.parents = new int[width];
+        this.roomCounts = new int[width];
+        this.chosenRooms = new int[width];
+        this.carriedDown = new boolean[width];
+        this.labelInUse = new boolean[width];
+        for (int col = 0; col < width; col++) {
+            sets[col] = col;
+        }
+    }
+
+    /**
+     * Returns the index of the next row to be carved.
+     */
+    public long currentRow() {
+        return row;
+    }
+
+    /**
+     * Carves a complete maze of the given height, starting at the current row.
+     *
+     * @throws IllegalArgumentException if height is not positive.
+     */
+    public void carve(long height, RemovedWallConsumer out) {
+        if (height <= 0) {
+            throw new IllegalArgumentException();
+        }
+        for (long i = 1; i < height; i++) {
+            carveRow(out);
+        }
+        carveLastRow(out);
+    }
+
+    /**
+     * Carves the current row, which will have another row below it, and moves on to that row.
+     *
+     * @throws IllegalStateException if the last row has already been carved.
+     */
+    public void carveRow(RemovedWallConsumer out) {
+        checkNotFinished();
+        joinNeighbors(out, false);
+
+        // pick which rooms open downwards, making sure every set gets at least one opening
+        Arrays.fill(roomCounts, 0);
+        Arrays.fill(carriedDown, false);
+        for (int col = 0; col < width; col++) {
+            int set = sets[col];
+            // reservoir-sample one room per set as the fallback opening
+            roomCounts[set]++;
+            if (random.nextInt(roomCounts[set]) == 0) {
+                chosenRooms[set] = col;
+            }
+            if (random.nextBoolean()) {
+                carriedDown[set] = true;
+                out.accept(row, col, Side.SOUTH);
+            } else {
+                sets[col] = -1;
+            }
+        }
+        for (int set = 0; set < width; set++) {
+            if (roomCounts[set] > 0 && !carriedDown[set]) {
+                int col = chosenRooms[set];
+                sets[col] = set;
+                out.accept(row, col, Side.SOUTH);
+            }
+        }
+
+        // rooms with no opening above start new sets under unused labels
+        Arrays.fill(labelInUse, false);
+        for (int col = 0; col < width; col++) {
+            if (sets[col] >= 0) {
+                labelInUse[sets[col]] = true;
+            }
+        }
+        int nextLabel = 0;
+        for (int col = 0; col < width; col++) {
+            if (sets[col] < 0) {
+                while (labelInUse[nextLabel]) {
+                    nextLabel++;
+                }
+                labelInUse[nextLabel] = true;
+                sets[col] = nextLabel;
+            }
+        }
+        row++;
+    }
+
+    /**
+     * Carves the current row as the maze's last, joining every remaining set.
+     *
+     * @throws IllegalStateException if the last row has already been carved.
+     */
+    public void carveLastRow(RemovedWallConsumer out) {
+        checkNotFinished();
+        joinNeighbors(out, true);
+        row++;
+        finished = true;
+    }
+
+    /**
+     * Removes walls between horizontally adjacent rooms of different sets, randomly or, for the
+     * last row, always, leaving every room labeled with its merged set.
+     */
+    private void joinNeighbors(RemovedWallConsumer out, boolean joinAll) {
+        for (int label = 0; label < width; label++) {
+            parents[label] = label;
+        }
+        for (int col = 0; col + 1 < width; col++) {
+            int left = find(sets[col]);
+            int right = find(sets[col + 1]);
+            if (left != right && (joinAll || random.nextBoolean())) {
+                parents[right] = left;
+                out.accept(row, col, Side.EAST);
+            }
+        }
+        for (int col = 0; col < width; col++) {
+            sets[col] = find(sets[col]);
+        }
+    }
+
+    private int find(int label) {
+        while (parents[label] != label) {
+            parents[label] = parents[parents[label]];
+            label = parents[label];
+        }
+        return label;
+    }
+
+    private void checkNotFinished() {
+        if (finished) {
+            throw new IllegalStateException("the last row has already been carved");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package graphs.minspantrees;
+
+import disjointsets.DisjointSets;
+import graphs.BaseEdge;
+import graphs.KruskalGraph;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Computes minimum spanning trees using Filter-Kruskal.
+ *
+ * Instead of sorting every edge up front, the edges are partitioned around a sampled pivot weight.
+ * The light half is processed first (recursively); then every heavy edge whose endpoints are already
+ * connected is filtered out before the remaining heavy edges are processed. Since the spanning tree
+ * is usually complete after a small prefix of the edges, most heavy edges are discarded without
+ * ever being sorted.
+ *
+ * Partitioning large ranges and sorting the base cases use the common fork-join pool through
+ * parallel streams and {@link Arrays#parallelSort}. The union-find work stays sequential, since the
+ * disjoint sets from {@link #createDisjointSets()} are not thread-safe.
+ *
+ * @see KruskalMinimumSpanningTreeFinder
+ * @see MinimumSpanningTreeFinder for more documentation.
+ */
+public class FilterKruskalMinimumSpanningTreeFinder<G extends KruskalGraph<V, E>, V, E extends BaseEdge<V, E>>
+    extends KruskalMinimumSpanningTreeFinder<G, V, E> {
+    // ranges this small are sorted and scanned directly, like plain Kruskal
+    private static final int MIN_BASE_CASE_SIZE = 1 << 12;
+    // ranges at least this large are partitioned in parallel
+    private static final int PARALLEL_PARTITION_THRESHOLD = 1 << 16;
+    private static final int PIVOT_SAMPLE_SIZE = 31;
+    private static final long PIVOT_SEED = 373;
+
+    @Override
+    public MinimumSpanningTree<V, E> findMinimumSpanningTree(G graph) {
+        List<V> vertices = new ArrayList<>(graph.allVertices());
+        Set<E> mstEdges = new HashSet<>();
+        if (vertices.size() <= 1) {
+            return new MinimumSpanningTree.Success<>(mstEdges);
+        }
+        DisjointSets<V> disjointSets = createDisjointSets();
+        vertices.forEach(disjointSets::makeSet);
+
+        Run run = new Run(toArray(graph), disjointSets, mstEdges, vertices.size() - 1);
+        run.filterKruskal(0, run.edges.length, Math.max(MIN_BASE_CASE_SIZE, vertices.size()));
+        if (mstEdges.size() == vertices.size() - 1) {
+            return new MinimumSpanningTree.Success<>(mstEdges);
+        }
+        return new MinimumSpanningTree.Failure<>();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private E[] toArray(G graph) {
+        return (E[]) graph.allEdges().toArray(new BaseEdge[0]);
+    }
+
+    /**
+     * The state of a single spanning tree computation.
+     */
+    private class Run {
+        private final E[] edges;
+        private final DisjointSets<V> disjointSets;
+        private final Set<E> mstEdges;
+        private final int targetEdgeCount;
+        private final Random random;
+
+        Run(E[] edges, DisjointSets<V> disjointSets, Set<E> mstEdges, int targetEdgeCount) {
+            this.edges = edges;
+            this.disjointSets = disjointSets;
+            this.mstEdges = mstEdges;
+            this.targetEdgeCount = targetEdgeCount;
+            this.random = new Random(PIVOT_SEED);
+        }
+
+        private boolean isDone() {
+            return mstEdges.size() == targetEdgeCount;
+        }
+
+        /**
+         * Adds the spanning tree edges among {@code edges[lo, hi)} to {@code mstEdges}.
+         */
+        void filterKruskal(int lo, int hi, int baseCaseSize) {
+            if (isDone() || lo >= hi) {
+                return;
+            }
+            if (hi - lo <= baseCaseSize) {
+                kruskal(lo, hi);
+                return;
+            }
+            double pivot = samplePivot(lo, hi);
+            int mid = partition(lo, hi, pivot);
+            if (mid == lo || mid == hi) {
+                // the pivot did not split the range (e.g. many equal weights), so sort it outright
+                kruskal(lo, hi);
+                return;
+            }
+            filterKruskal(lo, mid, baseCaseSize);
+            if (isDone()) {
+                return;
+            }
+            int newHi = filter(mid, hi);
+            filterKruskal(mid, newHi, baseCaseSize);
+        }
+
+        private void kruskal(int lo, int hi) {
+            Arrays.parallelSort(edges, lo, hi, Comparator.comparingDouble(E::weight));
+            for (int i = lo; i < hi && !isDone(); i++) {
+                E edge = edges[i];
+                if (disjointSets.union(edge.from(), edge.to())) {
+                    mstEdges.add(edge);
+                }
+            }
+        }
+
+        private double samplePivot(int lo, int hi) {
+            double[] sample = new double[PIVOT_SAMPLE_SIZE];
+            for (int i = 0; i < sample.length; i++) {
+                sample[i] = edges[lo + random.nextInt(hi - lo)].weight();
+            }
+            Arrays.sort(sample);
+            return sample[sample.length / 2];
+        }
+
+        /**
+         * Reorders {@code edges[lo, hi)} so edges no heavier than the pivot come first, returning the
+         * index of the first heavier edge.
+         */
+        private int partition(int lo, int hi, double pivot) {
+            if (hi - lo >= PARALLEL_PARTITION_THRESHOLD) {
+                E[] light = Arrays.stream(edges, lo, hi).parallel()
+                    .filter(edge -> edge.weight() <= pivot).toArray(this::newArray);
+                E[] heavy = Arrays.stream(edges, lo, hi).parallel()
+                    .filter(edge -> edge.weight() > pivot).toArray(this::newArray);
+                System.arraycopy(light, 0, edges, lo, light.length);
+                System.arraycopy(heavy, 0, edges, lo + light.length, heavy.length);
+                return lo + light.length;
+            }
+            int i = lo;
+            int j = hi - 1;
+            while (i <= j) {
+                if (edges[i].weight() <= pivot) {
+                    i++;
+                } else {
+                    swap(i, j);
+                    j--;
+                }
+            }
+            return i;
+        }
+
+        /**
+         * Compacts {@code edges[lo, hi)} to the edges whose endpoints are not yet connected, returning
+         * the new end of the range.
+         */
+        private int filter(int lo, int hi) {
+            int end = lo;
+            for (int i = lo; i < hi; i++) {
+                E edge = edges[i];
+                if (disjointSets.findSet(edge.from()) != disjointSets.findSet(edge.to())) {
+                    edges[end] = edge;
+                    end++;
+                }
+            }
+            return end;
+        }
+
+        private void swap(int a, int b) {
+            E temp = edges[a];
+            edges[a] = edges[b];
+            edges[b] = temp;
+        }
+
+        @SuppressWarnings("unchecked")
+        private E[] newArray(int length) {
+            return (E[]) Array.newInstance(edges.getClass().getComponentType(), length);
+        }
+    }
+}
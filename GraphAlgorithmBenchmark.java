@@ -0,0 +1,100 @@
+package benchmarks;
+
+import disjointsets.DisjointSets;
+import disjointsets.UnionBySizeCompressingDisjointSets;
+import graphs.CsrGraph;
+import graphs.Edge;
+import graphs.minspantrees.KruskalMinimumSpanningTreeFinder;
+import graphs.minspantrees.MinimumSpanningTree;
+import graphs.shortestpaths.DijkstraShortestPathFinder;
+import graphs.shortestpaths.ShortestPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import priorityqueues.MinPQKind;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DijkstraShortestPathFinder} point-to-point queries and
+ * {@link KruskalMinimumSpanningTreeFinder} on generated graphs of each {@link GraphGenerators.Shape}.
+ *
+ * Both run through the generic {@code Graph} interface, which boxes every vertex, so the largest
+ * default size is 1M vertices; pass {@code -p vertices=10000000} with a large heap for more.
+ *
+ * Kruskal runs with {@link UnionBySizeCompressingDisjointSets}; the finder as shipped, with its
+ * default quick-find sets, is measured at small sizes by {@link DefaultKruskalBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GraphAlgorithmBenchmark {
+    private static final long SEED = 373;
+    private static final int QUERIES = 16;
+
+    @Param({"GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    GraphGenerators.Shape shape;
+
+    @Param({"1000", "100000", "1000000"})
+    int vertices;
+
+    @Param({"DOUBLE_MAP", "DARY_HEAP_4"})
+    MinPQKind minPQKind;
+
+    private CsrGraph<Integer> graph;
+    private Integer[] starts;
+    private Integer[] ends;
+    private DijkstraShortestPathFinder<CsrGraph<Integer>, Integer, Edge<Integer>> dijkstra;
+    private KruskalMinimumSpanningTreeFinder<CsrGraph<Integer>, Integer, Edge<Integer>> kruskal;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = shape.generate(vertices, SEED);
+        Random random = new Random(SEED);
+        starts = new Integer[QUERIES];
+        ends = new Integer[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = graph.vertexOf(random.nextInt(graph.vertexCount()));
+            ends[i] = graph.vertexOf(random.nextInt(graph.vertexCount()));
+        }
+        dijkstra = new DijkstraShortestPathFinder<>(minPQKind);
+        kruskal = new KruskalMinimumSpanningTreeFinder<>() {
+            @Override
+            protected DisjointSets<Integer> createDisjointSets() {
+                return new UnionBySizeCompressingDisjointSets<>();
+            }
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void dijkstraShortestPath(Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; i++) {
+            ShortestPath<Integer, Edge<Integer>> path = dijkstra.findShortestPath(graph, starts[i], ends[i]);
+            blackhole.consume(path);
+        }
+    }
+
+    /**
+     * Does not use the priority queue; its time does not depend on {@code minPQKind}.
+     */
+    @Benchmark
+    public MinimumSpanningTree<Integer, Edge<Integer>> kruskalMinimumSpanningTree() {
+        return kruskal.findMinimumSpanningTree(graph);
+    }
+}
@@ -0,0 +1,235 @@
+package benchmarks;
+
+import graphs.CsrGraph;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generators of undirected benchmark graphs, stored as {@link CsrGraph}s with both
+ * directions of every edge and vertices {@code 0} to {@code vertexCount - 1}.
+ *
+ * Edges are collected in flat arrays and sorted into place by source, so graphs with millions of
+ * vertices are generated without creating an object per edge.
+ */
+public final class GraphGenerators {
+    /**
+     * The shapes of graph available to benchmarks as a parameter.
+     */
+    public enum Shape {
+        /** A square grid, rounded up to whole rows, of edges with uniform random weight in [1, 2). */
+        GRID {
+            @Override
+            public CsrGraph<Integer> generate(int vertexCount, long seed) {
+                int width = (int) Math.ceil(Math.sqrt(vertexCount));
+                return grid(width, (vertexCount + width - 1) / width, seed);
+            }
+        },
+        /** Random points in the unit square, joined within a radius giving average degree 8. */
+        RANDOM_GEOMETRIC {
+            @Override
+            public CsrGraph<Integer> generate(int vertexCount, long seed) {
+                return randomGeometric(vertexCount, 8, seed);
+            }
+        },
+        /** Preferential attachment with 4 edges per new vertex, giving power-law degrees. */
+        POWER_LAW {
+            @Override
+            public CsrGraph<Integer> generate(int vertexCount, long seed) {
+                return powerLaw(vertexCount, 4, seed);
+            }
+        };
+
+        public abstract CsrGraph<Integer> generate(int vertexCount, long seed);
+    }
+
+    private GraphGenerators() {
+    }
+
+    /**
+     * Returns a {@code width} by {@code height} grid, where vertex {@code row * width + col} is
+     * joined to its horizontal and vertical neighbors by edges of uniform random weight in [1, 2).
+     */
+    public static CsrGraph<Integer> grid(int width, int height, long seed) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException();
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        EdgeList edges = new EdgeList(2 * width * height);
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int vertex = row * width + col;
+                if (col + 1 < width) {
+                    edges.add(vertex, vertex + 1, 1 + random.nextDouble());
+                }
+                if (row + 1 < height) {
+                    edges.add(vertex, vertex + width, 1 + random.nextDouble());
+                }
+            }
+        }
+        return edges.toGraph(width * height);
+    }
+
+    /**
+     * Returns a random geometric graph: vertices are uniform random points in the unit square, and
+     * every two within distance {@code r} are joined by an edge weighted by their distance, with
+     * {@code r} chosen so that vertices have {@code averageDegree} neighbors on average. The graph
+     * need not be connected.
+     */
+    public static CsrGraph<Integer> randomGeometric(int vertexCount, double averageDegree, long seed) {
+        if (vertexCount <= 0 || averageDegree <= 0) {
+            throw new IllegalArgumentException();
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] xs = new double[vertexCount];
+        double[] ys = new double[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            xs[i] = random.nextDouble();
+            ys[i] = random.nextDouble();
+        }
+        double radius = Math.sqrt(averageDegree / (Math.PI * vertexCount));
+
+        // bucket the points into square cells of side at least r, so neighbors lie in adjacent cells
+        int cellsPerSide = Math.max(1, (int) Math.min(1 / radius, Math.sqrt(vertexCount)));
+        int[] cellOf = new int[vertexCount];
+        int[] cellStarts = new int[cellsPerSide * cellsPerSide + 1];
+        for (int i = 0; i < vertexCount; i++) {
+            int cellX = Math.min(cellsPerSide - 1, (int) (xs[i] * cellsPerSide));
+            int cellY = Math.min(cellsPerSide - 1, (int) (ys[i] * cellsPerSide));
+            cellOf[i] = cellY * cellsPerSide + cellX;
+            cellStarts[cellOf[i] + 1]++;
+        }
+        for (int cell = 0; cell < cellsPerSide * cellsPerSide; cell++) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        int[] fill = Arrays.copyOf(cellStarts, cellStarts.length - 1);
+        int[] pointsByCell = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            pointsByCell[fill[cellOf[i]]++] = i;
+        }
+
+        EdgeList edges = new EdgeList((int) Math.min(Integer.MAX_VALUE - 8, (long) (vertexCount * averageDegree)));
+        for (int i = 0; i < vertexCount; i++) {
+            int cellX = cellOf[i] % cellsPerSide;
+            int cellY = cellOf[i] / cellsPerSide;
+            for (int y = Math.max(0, cellY - 1); y <= Math.min(cellsPerSide - 1, cellY + 1); y++) {
+                for (int x = Math.max(0, cellX - 1); x <= Math.min(cellsPerSide - 1, cellX + 1); x++) {
+                    int cell = y * cellsPerSide + x;
+                    for (int k = cellStarts[cell]; k < cellStarts[cell + 1]; k++) {
+                        int j = pointsByCell[k];
+                        if (j > i) {
+                            double dx = xs[i] - xs[j];
+                            double dy = ys[i] - ys[j];
+                            double squaredDistance = dx * dx + dy * dy;
+                            if (squaredDistance <= radius * radius) {
+                                edges.add(i, j, Math.sqrt(squaredDistance));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return edges.toGraph(vertexCount);
+    }
+
+    /**
+     * Returns a Barabasi-Albert graph: each new vertex is joined to {@code edgesPerVertex} distinct
+     * earlier vertices chosen with probability proportional to their degree, so degrees follow a
+     * power law. Edge weights are uniform random in [1, 2).
+     */
+    public static CsrGraph<Integer> powerLaw(int vertexCount, int edgesPerVertex, long seed) {
+        if (vertexCount <= 0 || edgesPerVertex <= 0) {
+            throw new IllegalArgumentException();
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        EdgeList edges = new EdgeList(vertexCount * edgesPerVertex);
+        // every edge endpoint so far, so a uniform pick from it is a degree-proportional pick
+        int[] endpoints = new int[2 * vertexCount * edgesPerVertex];
+        int endpointCount = 0;
+        int[] chosen = new int[edgesPerVertex];
+        for (int vertex = 1; vertex < vertexCount; vertex++) {
+            int count = 0;
+            if (vertex <= edgesPerVertex) {
+                for (int earlier = 0; earlier < vertex; earlier++) {
+                    chosen[count++] = earlier;
+                }
+            } else {
+                while (count < edgesPerVertex) {
+                    int candidate = endpoints[random.nextInt(endpointCount)];
+                    boolean duplicate = false;
+                    for (int k = 0; k < count; k++) {
+                        duplicate |= chosen[k] == candidate;
+                    }
+                    if (!duplicate) {
+                        chosen[count++] = candidate;
+                    }
+                }
+            }
+            for (int k = 0; k < count; k++) {
+                edges.add(vertex, chosen[k], 1 + random.nextDouble());
+                endpoints[endpointCount++] = vertex;
+                endpoints[endpointCount++] = chosen[k];
+            }
+        }
+        return edges.toGraph(vertexCount);
+    }
+
+    /**
+     * A growable list of undirected edges in flat arrays.
+     */
+    private static class EdgeList {
+        private int[] ends1;
+        private int[] ends2;
+        private double[] weights;
+        private int size;
+
+        EdgeList(int initialCapacity) {
+            int capacity = Math.max(16, initialCapacity);
+            this.ends1 = new int[capacity];
+            this.ends2 = new int[capacity];
+            this.weights = new double[capacity];
+        }
+
+        void add(int u, int v, double weight) {
+            if (size == ends1.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, 2L * size);
+                ends1 = Arrays.copyOf(ends1, capacity);
+                ends2 = Arrays.copyOf(ends2, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            ends1[size] = u;
+            ends2[size] = v;
+            weights[size] = weight;
+            size++;
+        }
+
+        /**
+         * Counting-sorts both directions of every edge by source into CSR arrays.
+         */
+        CsrGraph<Integer> toGraph(int vertexCount) {
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[ends1[i] + 1]++;
+                offsets[ends2[i] + 1]++;
+            }
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                offsets[vertex + 1] += offsets[vertex];
+            }
+            int[] fill = Arrays.copyOf(offsets, vertexCount);
+            int[] targets = new int[2 * size];
+            double[] edgeWeights = new double[2 * size];
+            for (int i = 0; i < size; i++) {
+                int forward = fill[ends1[i]]++;
+                targets[forward] = ends2[i];
+                edgeWeights[forward] = weights[i];
+                int backward = fill[ends2[i]]++;
+                targets[backward] = ends1[i];
+                edgeWeights[backward] = weights[i];
+            }
+            return CsrGraph.withIntegerVertices(IntBuffer.wrap(offsets), IntBuffer.wrap(targets),
+                DoubleBuffer.wrap(edgeWeights));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package maps;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An array map for keys with no useful ordering that stores each key's hash code next to it.
+ *
+ * Lookups are still a linear scan, but they compare cached ints first and only call
+ * {@code equals} when the hash codes match, so a miss costs one array read per entry instead of a
+ * pointer chase and a virtual call. Keys and values are stored in parallel arrays rather than as
+ * {@code SimpleEntry} objects, and removal finds and fills the hole in a single pass.
+ *
+ * @see ArrayMap
+ * @see AbstractIterableMap
+ */
+public class HashedArrayMap<K, V> extends AbstractIterableMap<K, V> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 6;
+
+    private int[] hashes;
+    private Object[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Constructs a new HashedArrayMap with default initial capacity.
+     */
+    public HashedArrayMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity the initial capacity of the internal arrays. Must be > 0.
+     */
+    public HashedArrayMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.hashes = new int[initialCapacity];
+        this.keys = new Object[initialCapacity];
+        this.values = new Object[initialCapacity];
+        this.size = 0;
+    }
+
+    private int indexOf(Object key) {
+        int hash = Objects.hashCode(key);
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] == hash && Objects.equals(keys[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            V oldValue = (V) values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if (size == keys.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        hashes[size] = Objects.hashCode(key);
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+        size--;
+        hashes[index] = hashes[size];
+        keys[index] = keys[size];
+        values[index] = values[size];
+        keys[size] = null;
+        values[size] = null;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new HashedArrayMapIterator();
+    }
+
+    private class HashedArrayMapIterator implements Iterator<Map.Entry<K, V>> {
+        private int index;
+
+        HashedArrayMapIterator() {
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> entry = new IndexEntry(index);
+            index++;
+            return entry;
+        }
+    }
+
+    /**
+     * An entry backed by an array index, so {@code setValue} writes through to the map.
+     */
+    private class IndexEntry extends SimpleEntry<K, V> {
+        private final Object[] table;
+        private final int index;
+
+        @SuppressWarnings("unchecked")
+        IndexEntry(int index) {
+            super((K) keys[index], (V) values[index]);
+            this.table = values;
+            this.index = index;
+        }
+
+        @Override
+        public V setValue(V value) {
+            table[index] = value;
+            return super.setValue(value);
+        }
+    }
+}
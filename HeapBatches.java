@@ -0,0 +1,58 @@
+package priorityqueues;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * The batch-update cost model and argument checks shared by the array-backed heaps, so that they
+ * agree on when a batch is worth a full heapify and on what makes a batch invalid.
+ *
+ * Batches are checked in full before any of them is applied, so a rejected batch leaves the heap
+ * unchanged.
+ */
+final class HeapBatches {
+    private HeapBatches() {
+    }
+
+    /**
+     * Returns whether a batch of {@code batchSize} updates against a heap of {@code heapSize} items
+     * is cheaper to apply with a full O(n) heapify than with O(log n) sifts per item.
+     */
+    static boolean isLargeBatch(int batchSize, int heapSize) {
+        int log = 32 - Integer.numberOfLeadingZeros(heapSize + batchSize);
+        return (long) batchSize * log >= heapSize + batchSize;
+    }
+
+    /**
+     * Checks a batch of new items and their priorities.
+     *
+     * @param canAdd whether the heap accepts the item as a new one
+     * @throws IllegalArgumentException if any item is not accepted or any priority is null
+     */
+    static <T> void checkNewItems(Map<T, Double> newItems, Predicate<? super T> canAdd) {
+        for (Map.Entry<T, Double> entry : newItems.entrySet()) {
+            if (!canAdd.test(entry.getKey()) || entry.getValue() == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+    }
+
+    /**
+     * Checks a batch of new priorities for items already in the heap.
+     *
+     * @param contains whether the item is in the heap
+     * @throws NoSuchElementException if any item is not present
+     * @throws IllegalArgumentException if any priority is null
+     */
+    static <T> void checkNewPriorities(Map<T, Double> newPriorities, Predicate<? super T> contains) {
+        for (Map.Entry<T, Double> entry : newPriorities.entrySet()) {
+            if (!contains.test(entry.getKey())) {
+                throw new NoSuchElementException();
+            }
+            if (entry.getValue() == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+    }
+}
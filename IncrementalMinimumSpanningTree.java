@@ -0,0 +1,359 @@
+package graphs.minspantrees;
+
+import graphs.BaseEdge;
+import graphs.KruskalGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains a minimum spanning forest of an undirected graph as edges are inserted or made lighter.
+ *
+ * The forest is kept in a link-cut tree in which every forest edge is a node of its own, between
+ * the nodes of its two endpoints, and every splay subtree tracks its heaviest edge node. Inserting
+ * an edge between two trees links them; inserting one within a tree finds the heaviest edge on the
+ * cycle it closes and swaps it out if the new edge is lighter. Both take O(log V) amortized time,
+ * instead of re-running Kruskal's algorithm over every edge.
+ *
+ * Only forest edges are stored: an edge rejected now can only enter the forest later if it gets
+ * lighter, which is reported by inserting it again (see {@link #decreaseWeight}).
+ */
+public class IncrementalMinimumSpanningTree<V, E extends BaseEdge<V, E>> {
+    private static final int NIL = -1;
+
+    private final Map<V, Integer> vertexIds = new HashMap<>();
+    private final Map<E, Integer> treeEdgeNodes = new HashMap<>();
+
+    // link-cut tree nodes: vertices and forest edges share one id space
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private double[] weights;
+    private int[] heaviest;
+    private int[] firstEndpoints;
+    private int[] secondEndpoints;
+    private Object[] edges;
+    private int nodeCount;
+    private int[] freeEdgeNodes;
+    private int freeEdgeNodeCount;
+    private int[] splayStack;
+    private double totalWeight;
+
+    public IncrementalMinimumSpanningTree() {
+        int capacity = 16;
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.parent = new int[capacity];
+        this.reversed = new boolean[capacity];
+        this.weights = new double[capacity];
+        this.heaviest = new int[capacity];
+        this.firstEndpoints = new int[capacity];
+        this.secondEndpoints = new int[capacity];
+        this.edges = new Object[capacity];
+        this.freeEdgeNodes = new int[capacity];
+        this.splayStack = new int[capacity];
+    }
+
+    /**
+     * Constructs a forest for all vertices and edges of the given graph.
+     */
+    public IncrementalMinimumSpanningTree(KruskalGraph<V, E> graph) {
+        this();
+        for (V vertex : graph.allVertices()) {
+            addVertex(vertex);
+        }
+        for (E edge : graph.allEdges()) {
+            insertEdge(edge);
+        }
+    }
+
+    /**
+     * Adds an isolated vertex, so that the forest must span it.
+     *
+     * @return whether the vertex was new
+     */
+    public boolean addVertex(V vertex) {
+        if (vertexIds.containsKey(vertex)) {
+            return false;
+        }
+        vertexIds.put(vertex, newNode(Double.NEGATIVE_INFINITY));
+        return true;
+    }
+
+    /**
+     * Inserts an edge, adding its endpoints as needed. Inserting an edge that is already in the
+     * forest changes nothing.
+     *
+     * @return whether the edge is now in the forest
+     */
+    public boolean insertEdge(E edge) {
+        if (treeEdgeNodes.containsKey(edge)) {
+            return true;
+        }
+        addVertex(edge.from());
+        addVertex(edge.to());
+        int u = vertexIds.get(edge.from());
+        int v = vertexIds.get(edge.to());
+        if (u == v) {
+            return false;
+        }
+        makeRoot(u);
+        if (findRoot(v) == u) {
+            // u is still the root, so accessing v exposes exactly the u-v path
+            access(v);
+            int heaviestNode = heaviest[v];
+            if (weights[heaviestNode] <= edge.weight()) {
+                return false;
+            }
+            removeEdgeNode(heaviestNode);
+        }
+        int node = newEdgeNode(edge, u, v);
+        link(u, node);
+        link(node, v);
+        treeEdgeNodes.put(edge, node);
+        totalWeight += edge.weight();
+        return true;
+    }
+
+    /**
+     * Records that an edge now has a lower weight, given as a new edge object with the same
+     * endpoints. A forest edge is updated in place; any other edge is inserted anew.
+     *
+     * @return whether the lighter edge is now in the forest
+     * @throws IllegalArgumentException if the endpoints differ or the weight is higher.
+     */
+    public boolean decreaseWeight(E oldEdge, E newEdge) {
+        boolean sameEndpoints = (oldEdge.from().equals(newEdge.from()) && oldEdge.to().equals(newEdge.to()))
+            || (oldEdge.from().equals(newEdge.to()) && oldEdge.to().equals(newEdge.from()));
+        if (!sameEndpoints || newEdge.weight() > oldEdge.weight()) {
+            throw new IllegalArgumentException();
+        }
+        Integer node = treeEdgeNodes.remove(oldEdge);
+        if (node == null) {
+            return insertEdge(newEdge);
+        }
+        // once accessed, the node roots its splay tree, so no ancestor's maximum goes stale
+        access(node);
+        totalWeight += newEdge.weight() - weights[node];
+        weights[node] = newEdge.weight();
+        edges[node] = newEdge;
+        pull(node);
+        treeEdgeNodes.put(newEdge, node);
+        return true;
+    }
+
+    /**
+     * Returns whether the two vertices are in the same tree of the forest.
+     */
+    public boolean connected(V a, V b) {
+        Integer u = vertexIds.get(a);
+        Integer v = vertexIds.get(b);
+        return u != null && v != null && findRoot(u) == findRoot(v);
+    }
+
+    /**
+     * Returns a read-only view of the edges currently in the forest.
+     */
+    public Collection<E> forestEdges() {
+        return Collections.unmodifiableSet(treeEdgeNodes.keySet());
+    }
+
+    public double totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Returns the current forest as a minimum spanning tree, or a failure if it does not connect
+     * every vertex seen so far.
+     */
+    public MinimumSpanningTree<V, E> currentTree() {
+        if (vertexIds.size() > 1 && treeEdgeNodes.size() != vertexIds.size() - 1) {
+            return new MinimumSpanningTree.Failure<>();
+        }
+        return new MinimumSpanningTree.Success<>(new ArrayList<>(treeEdgeNodes.keySet()));
+    }
+
+    private int newNode(double weight) {
+        if (nodeCount == left.length) {
+            int capacity = left.length * 2;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            reversed = Arrays.copyOf(reversed, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            heaviest = Arrays.copyOf(heaviest, capacity);
+            firstEndpoints = Arrays.copyOf(firstEndpoints, capacity);
+            secondEndpoints = Arrays.copyOf(secondEndpoints, capacity);
+            edges = Arrays.copyOf(edges, capacity);
+            splayStack = new int[capacity];
+        }
+        int node = nodeCount++;
+        resetNode(node, weight);
+        return node;
+    }
+
+    private int newEdgeNode(E edge, int u, int v) {
+        int node = freeEdgeNodeCount > 0 ? freeEdgeNodes[--freeEdgeNodeCount] : newNode(edge.weight());
+        resetNode(node, edge.weight());
+        firstEndpoints[node] = u;
+        secondEndpoints[node] = v;
+        edges[node] = edge;
+        return node;
+    }
+
+    private void resetNode(int node, double weight) {
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = NIL;
+        reversed[node] = false;
+        weights[node] = weight;
+        heaviest[node] = node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void removeEdgeNode(int node) {
+        cut(firstEndpoints[node], node);
+        cut(node, secondEndpoints[node]);
+        E edge = (E) edges[node];
+        treeEdgeNodes.remove(edge);
+        totalWeight -= weights[node];
+        edges[node] = null;
+        if (freeEdgeNodeCount == freeEdgeNodes.length) {
+            freeEdgeNodes = Arrays.copyOf(freeEdgeNodes, freeEdgeNodes.length * 2);
+        }
+        freeEdgeNodes[freeEdgeNodeCount++] = node;
+    }
+
+    private boolean isSplayRoot(int node) {
+        int p = parent[node];
+        return p == NIL || (left[p] != node && right[p] != node);
+    }
+
+    private void pushDown(int node) {
+        if (!reversed[node]) {
+            return;
+        }
+        int swap = left[node];
+        left[node] = right[node];
+        right[node] = swap;
+        if (left[node] != NIL) {
+            reversed[left[node]] ^= true;
+        }
+        if (right[node] != NIL) {
+            reversed[right[node]] ^= true;
+        }
+        reversed[node] = false;
+    }
+
+    private void pull(int node) {
+        int max = node;
+        if (left[node] != NIL && weights[heaviest[left[node]]] > weights[max]) {
+            max = heaviest[left[node]];
+        }
+        if (right[node] != NIL && weights[heaviest[right[node]]] > weights[max]) {
+            max = heaviest[right[node]];
+        }
+        heaviest[node] = max;
+    }
+
+    private void rotate(int node) {
+        int p = parent[node];
+        int g = parent[p];
+        boolean parentIsRoot = isSplayRoot(p);
+        if (left[p] == node) {
+            left[p] = right[node];
+            if (left[p] != NIL) {
+                parent[left[p]] = p;
+            }
+            right[node] = p;
+        } else {
+            right[p] = left[node];
+            if (right[p] != NIL) {
+                parent[right[p]] = p;
+            }
+            left[node] = p;
+        }
+        parent[p] = node;
+        parent[node] = g;
+        if (!parentIsRoot) {
+            if (left[g] == p) {
+                left[g] = node;
+            } else {
+                right[g] = node;
+            }
+        }
+        pull(p);
+        pull(node);
+    }
+
+    private void splay(int node) {
+        // pending reversals have to be pushed down from the top before rotating
+        int top = 0;
+        splayStack[top++] = node;
+        for (int x = node; !isSplayRoot(x); x = parent[x]) {
+            splayStack[top++] = parent[x];
+        }
+        while (top > 0) {
+            pushDown(splayStack[--top]);
+        }
+        while (!isSplayRoot(node)) {
+            int p = parent[node];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                rotate((left[g] == p) == (left[p] == node) ? p : node);
+            }
+            rotate(node);
+        }
+    }
+
+    /**
+     * Makes the path from the node's tree root to the node preferred, leaving the node at the root
+     * of its splay tree with no right child.
+     */
+    private void access(int node) {
+        int last = NIL;
+        for (int x = node; x != NIL; x = parent[x]) {
+            splay(x);
+            right[x] = last;
+            pull(x);
+            last = x;
+        }
+        splay(node);
+    }
+
+    private void makeRoot(int node) {
+        access(node);
+        reversed[node] ^= true;
+    }
+
+    private int findRoot(int node) {
+        access(node);
+        int x = node;
+        pushDown(x);
+        while (left[x] != NIL) {
+            x = left[x];
+            pushDown(x);
+        }
+        splay(x);
+        return x;
+    }
+
+    private void link(int child, int newParent) {
+        makeRoot(child);
+        parent[child] = newParent;
+    }
+
+    private void cut(int a, int b) {
+        makeRoot(a);
+        access(b);
+        // a and b are adjacent, so a is now b's only left descendant
+        left[b] = NIL;
+        parent[a] = NIL;
+        pull(b);
+    }
+}
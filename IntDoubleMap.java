@@ -0,0 +1,349 @@
+package maps;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash map from primitive {@code int} keys to primitive {@code double} values.
+ *
+ * Keys and values live in flat buffers with linear probing and backward-shift deletion, so no entry
+ * is ever boxed. The buffers can be allocated on the Java heap or off-heap with
+ * {@link ByteBuffer#allocateDirect}, in which case the table does not count against the heap and
+ * never has to be scanned or copied by the garbage collector.
+ *
+ * Slots are addressed by {@code long} and split across buffers of 2^20 slots each, so the table is
+ * not bounded by the int indexing of a single buffer and can grow to billions of entries. Off-heap
+ * tables still count against the JVM's direct memory limit ({@code -XX:MaxDirectMemorySize}).
+ *
+ * Iteration goes through a {@link Cursor} rather than {@code Map.Entry} objects, mirroring the
+ * entry-by-entry traversal of {@link AbstractIterableMap} without allocating per entry.
+ */
+public class IntDoubleMap {
+    private static final double DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD = 0.75;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int CHUNK_SHIFT = 20;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    // the most chunks an array can index
+    private static final long MAXIMUM_CAPACITY = 1L << (30 + CHUNK_SHIFT);
+    // marks an empty slot; the real key 0 is stored outside the table
+    private static final int FREE_KEY = 0;
+
+    private final boolean offHeap;
+    private final double resizeThreshold;
+    private IntBuffer[] keys;
+    private DoubleBuffer[] values;
+    private long mask;
+    private long size;
+    private boolean hasZeroKey;
+    private double zeroKeyValue;
+
+    /**
+     * Constructs a new on-heap IntDoubleMap with default resizing load factor threshold and default
+     * initial capacity.
+     */
+    public IntDoubleMap() {
+        this(DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD, DEFAULT_INITIAL_CAPACITY, false);
+    }
+
+    /**
+     * Constructs a new IntDoubleMap with the given parameters.
+     *
+     * @param resizingLoadFactorThreshold the load factor threshold for resizing. Must be in (0, 1).
+     * @param initialCapacity the initial number of slots, rounded up to a power of two. Must be > 0.
+     * @param offHeap whether to store the table in direct (off-heap) buffers.
+     */
+    public IntDoubleMap(double resizingLoadFactorThreshold, int initialCapacity, boolean offHeap) {
+        if (resizingLoadFactorThreshold <= 0 || resizingLoadFactorThreshold >= 1 || initialCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.offHeap = offHeap;
+        this.resizeThreshold = resizingLoadFactorThreshold;
+        long capacity = Math.max(2, Long.highestOneBit(initialCapacity - 1L) << 1);
+        this.keys = newKeyBuffers(capacity);
+        this.values = newValueBuffers(capacity);
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    private IntBuffer[] newKeyBuffers(long capacity) {
+        int chunkSlots = chunkSlots(capacity);
+        IntBuffer[] buffers = new IntBuffer[(int) (capacity / chunkSlots)];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = newBuffer(chunkSlots * Integer.BYTES).asIntBuffer();
+        }
+        return buffers;
+    }
+
+    private DoubleBuffer[] newValueBuffers(long capacity) {
+        int chunkSlots = chunkSlots(capacity);
+        DoubleBuffer[] buffers = new DoubleBuffer[(int) (capacity / chunkSlots)];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = newBuffer(chunkSlots * Double.BYTES).asDoubleBuffer();
+        }
+        return buffers;
+    }
+
+    private static int chunkSlots(long capacity) {
+        return (int) Math.min(capacity, 1L << CHUNK_SHIFT);
+    }
+
+    private ByteBuffer newBuffer(int bytes) {
+        ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    private static int get(IntBuffer[] buffers, long slot) {
+        return buffers[(int) (slot >>> CHUNK_SHIFT)].get((int) (slot & CHUNK_MASK));
+    }
+
+    private static void set(IntBuffer[] buffers, long slot, int value) {
+        buffers[(int) (slot >>> CHUNK_SHIFT)].put((int) (slot & CHUNK_MASK), value);
+    }
+
+    private static double get(DoubleBuffer[] buffers, long slot) {
+        return buffers[(int) (slot >>> CHUNK_SHIFT)].get((int) (slot & CHUNK_MASK));
+    }
+
+    private static void set(DoubleBuffer[] buffers, long slot, double value) {
+        buffers[(int) (slot >>> CHUNK_SHIFT)].put((int) (slot & CHUNK_MASK), value);
+    }
+
+    private static long home(int key, long mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (h ^ (h >>> 32)) & mask;
+    }
+
+    private long indexOf(int key) {
+        for (long slot = home(key, mask); get(keys, slot) != FREE_KEY; slot = (slot + 1) & mask) {
+            if (get(keys, slot) == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value for the key, or {@code defaultValue} if the key is absent.
+     */
+    public double getOrDefault(int key, double defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        }
+        long slot = indexOf(key);
+        return slot < 0 ? defaultValue : get(values, slot);
+    }
+
+    /**
+     * Returns the value for the key.
+     *
+     * @throws NoSuchElementException if the key is absent
+     */
+    public double get(int key) {
+        if (!containsKey(key)) {
+            throw new NoSuchElementException();
+        }
+        return getOrDefault(key, 0);
+    }
+
+    public boolean containsKey(int key) {
+        return key == FREE_KEY ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Associates the value with the key. The table grows before a new key is written, so a put
+     * that fails to grow it leaves the map unchanged.
+     *
+     * @return whether the key was newly added (as opposed to its value being replaced)
+     * @throws IllegalStateException if the map is full and cannot grow any further
+     */
+    public boolean put(int key, double value) {
+        if (key == FREE_KEY) {
+            boolean added = !hasZeroKey;
+            hasZeroKey = true;
+            zeroKeyValue = value;
+            if (added) {
+                size++;
+            }
+            return added;
+        }
+        long slot = home(key, mask);
+        for (int candidate; (candidate = get(keys, slot)) != FREE_KEY; slot = (slot + 1) & mask) {
+            if (candidate == key) {
+                set(values, slot, value);
+                return false;
+            }
+        }
+        if (size + 1 > resizeThreshold * (mask + 1)) {
+            resize();
+            slot = freeSlot(keys, mask, key);
+        }
+        set(keys, slot, key);
+        set(values, slot, value);
+        size++;
+        return true;
+    }
+
+    private static long freeSlot(IntBuffer[] keys, long mask, int key) {
+        long slot = home(key, mask);
+        while (get(keys, slot) != FREE_KEY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long capacity = mask + 1;
+        if (capacity == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("IntDoubleMap cannot grow beyond " + MAXIMUM_CAPACITY + " slots");
+        }
+        // allocate everything before touching the table, so running out of memory changes nothing
+        IntBuffer[] newKeys = newKeyBuffers(capacity * 2);
+        DoubleBuffer[] newValues = newValueBuffers(capacity * 2);
+        long newMask = capacity * 2 - 1;
+        for (long i = 0; i < capacity; i++) {
+            int key = get(keys, i);
+            if (key != FREE_KEY) {
+                long slot = freeSlot(newKeys, newMask, key);
+                set(newKeys, slot, key);
+                set(newValues, slot, get(values, i));
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        mask = newMask;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @return whether the key was present
+     */
+    public boolean remove(int key) {
+        if (key == FREE_KEY) {
+            boolean removed = hasZeroKey;
+            hasZeroKey = false;
+            if (removed) {
+                size--;
+            }
+            return removed;
+        }
+        long hole = indexOf(key);
+        if (hole < 0) {
+            return false;
+        }
+        long slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int candidate = get(keys, slot);
+            if (candidate == FREE_KEY) {
+                break;
+            }
+            long desired = home(candidate, mask);
+            // move the entry back only if the hole lies on its probe path
+            if (((slot - desired) & mask) >= ((slot - hole) & mask)) {
+                set(keys, hole, candidate);
+                set(values, hole, get(values, slot));
+                hole = slot;
+            }
+        }
+        set(keys, hole, FREE_KEY);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        for (IntBuffer chunk : keys) {
+            for (int i = 0; i < chunk.capacity(); i++) {
+                chunk.put(i, FREE_KEY);
+            }
+        }
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a cursor positioned before the first entry.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Calls the consumer with every key and value.
+     */
+    public void forEach(IntDoubleConsumer consumer) {
+        for (Cursor cursor = cursor(); cursor.advance(); ) {
+            consumer.accept(cursor.key(), cursor.value());
+        }
+    }
+
+    @FunctionalInterface
+    public interface IntDoubleConsumer {
+        void accept(int key, double value);
+    }
+
+    /**
+     * Walks the entries of the map in table order. The map must not be modified while a cursor is
+     * in use, except through {@link #setValue}.
+     */
+    public class Cursor {
+        // -1 is the out-of-table zero key; table slots follow
+        private long slot;
+
+        Cursor() {
+            this.slot = -2;
+        }
+
+        /**
+         * Moves to the next entry, returning false once there are no more.
+         */
+        public boolean advance() {
+            if (slot == -2) {
+                slot = -1;
+                if (hasZeroKey) {
+                    return true;
+                }
+            }
+            do {
+                slot++;
+            } while (slot <= mask && get(keys, slot) == FREE_KEY);
+            return slot <= mask;
+        }
+
+        public int key() {
+            checkPositioned();
+            return slot == -1 ? FREE_KEY : get(keys, slot);
+        }
+
+        public double value() {
+            checkPositioned();
+            return slot == -1 ? zeroKeyValue : get(values, slot);
+        }
+
+        public void setValue(double value) {
+            checkPositioned();
+            if (slot == -1) {
+                zeroKeyValue = value;
+            } else {
+                set(values, slot, value);
+            }
+        }
+
+        private void checkPositioned() {
+            if (slot < -1 || slot > mask) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+}
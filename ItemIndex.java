@@ -0,0 +1,147 @@
+package priorityqueues;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing map from items to non-negative int slots, used by the array-backed heaps to
+ * track where each item currently lives without boxing the slot index.
+ *
+ * Uses linear probing over a power-of-two table with backward-shift deletion, so updating the slot
+ * of an item that is already present never allocates.
+ */
+class ItemIndex<T> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    static final int ABSENT = -1;
+
+    private Object[] keys;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    ItemIndex() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of items the index should hold before it needs to grow.
+     */
+    ItemIndex(int expectedSize) {
+        int capacity = tableSizeFor(Math.max(expectedSize, 1) * 2);
+        this.keys = new Object[capacity];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.max(capacity, 2);
+    }
+
+    private int home(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the slot of the given item, or {@link #ABSENT} if it is not in the index.
+     */
+    int get(Object key) {
+        for (int i = home(key); keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(key)) {
+                return slots[i];
+            }
+        }
+        return ABSENT;
+    }
+
+    boolean contains(Object key) {
+        return get(key) != ABSENT;
+    }
+
+    /**
+     * Associates the item with the given slot, overwriting any previous slot for it.
+     */
+    void put(T key, int slot) {
+        int i = home(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                slots[i] = slot;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        slots[i] = slot;
+        size++;
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    /**
+     * Removes the item from the index, returning its slot or {@link #ABSENT} if it was not present.
+     */
+    int remove(Object key) {
+        int i = home(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                int slot = slots[i];
+                shiftBack(i);
+                size--;
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Fills the hole at index {@code hole} by pulling later entries of the same probe run back, so
+     * that lookups never need tombstones.
+     */
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == null) {
+                break;
+            }
+            int desired = home(keys[i]);
+            // move the entry back only if the hole lies on its probe path
+            if (((i - desired) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                slots[hole] = slots[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new Object[oldKeys.length * 2];
+        slots = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                int i = home(oldKeys[j]);
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                slots[i] = oldSlots[j];
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+}
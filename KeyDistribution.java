@@ -0,0 +1,83 @@
+package benchmarks;
+
+/**
+ * How benchmark keys are chosen. Every distribution gives distinct keys, and keys from
+ * {@link #missingKeys} are distinct from those of {@link #keys} for the same size and seed.
+ */
+public enum KeyDistribution {
+    /** The integers {@code 0, 1, 2, ...} in order. */
+    SEQUENTIAL {
+        @Override
+        Object key(int id, int index, long seed) {
+            return id;
+        }
+    },
+    /** Integers scattered over the whole int range by a seeded bijection. */
+    RANDOM {
+        @Override
+        Object key(int id, int index, long seed) {
+            int h = (id ^ (int) seed) * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    },
+    /**
+     * Keys whose hash codes collide in groups of {@link #COLLISION_GROUP_SIZE}, as a hash-flooding
+     * input would, so every lookup has to compare against a whole group. Missing keys share their
+     * hash codes with present ones. The groups are bounded so that large sizes still finish.
+     */
+    COLLIDING {
+        @Override
+        Object key(int id, int index, long seed) {
+            return new CollidingKey(id, (int) seed + index / COLLISION_GROUP_SIZE);
+        }
+    };
+
+    public static final int COLLISION_GROUP_SIZE = 64;
+
+    abstract Object key(int id, int index, long seed);
+
+    /**
+     * Returns {@code size} distinct keys.
+     */
+    public Object[] keys(int size, long seed) {
+        Object[] keys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = key(i, i, seed);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns {@code size} distinct keys, none of which are among {@code keys(size, seed)}.
+     */
+    public Object[] missingKeys(int size, long seed) {
+        Object[] keys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = key(size + i, i, seed);
+        }
+        return keys;
+    }
+
+    /**
+     * A key with an explicitly chosen hash code.
+     */
+    static final class CollidingKey {
+        private final int id;
+        private final int hash;
+
+        CollidingKey(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package disjointsets;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free disjoint-set forest that is safe to use from many threads at once.
+ *
+ * Parent pointers live in an {@link AtomicIntegerArray} and only ever move towards the root, so
+ * every update is a single compare-and-set:
+ * <ul>
+ *     <li>{@link #find(int)} shortens paths with path halving, installing each grandparent pointer
+ *     with a CAS that may harmlessly fail if another thread got there first.</li>
+ *     <li>{@link #union(int, int)} links one root under the other with a CAS that only succeeds if
+ *     the first is still a root, retrying from the new roots otherwise.</li>
+ * </ul>
+ * Roots are linked by a fixed pseudo-random priority derived from their ids (randomized linking,
+ * after Jayanti and Tarjan), which keeps trees shallow in expectation without the size bookkeeping
+ * that union by size would need to keep consistent across threads.
+ *
+ * The number of items is fixed at construction. Item ids and representatives follow the same
+ * numbering as {@link UnionBySizeArrayDisjointSets}; a representative returned by
+ * {@link #findSet} or {@link #find} may stop being one as soon as another thread unions its set.
+ *
+ * @see DisjointSets for more documentation.
+ */
+public class LockFreeDisjointSets<T> implements DisjointSets<T> {
+    private final AtomicIntegerArray parents;
+    private final ConcurrentHashMap<T, Integer> ids;
+    private final AtomicInteger size;
+
+    /**
+     * @param capacity the maximum number of items. Must be >= 0.
+     */
+    public LockFreeDisjointSets(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.parents = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            parents.set(i, i);
+        }
+        this.ids = new ConcurrentHashMap<>();
+        this.size = new AtomicInteger(0);
+    }
+
+    @Override
+    public void makeSet(T item) {
+        // the id is only reserved once the item is known to be new, so duplicates consume nothing
+        boolean[] created = new boolean[1];
+        ids.computeIfAbsent(item, newItem -> {
+            created[0] = true;
+            return makeSets(1);
+        });
+        if (!created[0]) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public int findSet(T item) {
+        return find(idOf(item));
+    }
+
+    @Override
+    public boolean union(T item1, T item2) {
+        return union(idOf(item1), idOf(item2));
+    }
+
+    private int idOf(T item) {
+        Integer id = ids.get(item);
+        if (id == null) {
+            throw new IllegalArgumentException();
+        }
+        return id;
+    }
+
+    /**
+     * Reserves {@code n} new singleton sets with consecutive ids.
+     *
+     * @return the id of the first new set
+     * @throws IllegalStateException if that would exceed the capacity
+     */
+    public int makeSets(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException();
+        }
+        while (true) {
+            int first = size.get();
+            if (n > parents.length() - first) {
+                throw new IllegalStateException("LockFreeDisjointSets is full");
+            }
+            // a CAS rather than getAndAdd, so a request that does not fit never moves the counter
+            if (size.compareAndSet(first, first + n)) {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the current representative of the set containing the given id.
+     */
+    public int find(int id) {
+        checkId(id);
+        while (true) {
+            int parent = parents.get(id);
+            if (parent == id) {
+                return id;
+            }
+            int grandparent = parents.get(parent);
+            if (grandparent != parent) {
+                parents.compareAndSet(id, parent, grandparent);
+            }
+            // grandparent is an ancestor of id whether or not the CAS succeeded
+            id = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing the two ids.
+     *
+     * @return true if this call merged two different sets; false if they were already the same set
+     */
+    public boolean union(int id1, int id2) {
+        while (true) {
+            int root1 = find(id1);
+            int root2 = find(id2);
+            if (root1 == root2) {
+                return false;
+            }
+            if (hasLowerPriority(root1, root2)) {
+                if (parents.compareAndSet(root1, root1, root2)) {
+                    return true;
+                }
+            } else if (parents.compareAndSet(root2, root2, root1)) {
+                return true;
+            }
+            // another thread linked one of the roots first; retry from wherever they ended up
+            id1 = root1;
+            id2 = root2;
+        }
+    }
+
+    /**
+     * Returns whether the two ids are in the same set, linearizably with concurrent unions.
+     */
+    public boolean sameSet(int id1, int id2) {
+        while (true) {
+            int root1 = find(id1);
+            int root2 = find(id2);
+            if (root1 == root2) {
+                return true;
+            }
+            // if root1 is still a root, the two sets were distinct at the moment we checked
+            if (parents.get(root1) == root1) {
+                return false;
+            }
+            id1 = root1;
+            id2 = root2;
+        }
+    }
+
+    /**
+     * Returns the number of ids handed out so far.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Orders roots by a fixed pseudo-random permutation of their ids, breaking ties by id, so every
+     * thread agrees on which of two roots gets linked under the other.
+     */
+    private static boolean hasLowerPriority(int a, int b) {
+        int priorityA = mix(a);
+        int priorityB = mix(b);
+        return priorityA < priorityB || (priorityA == priorityB && a < b);
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        h ^= h >>> 15;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size()) {
+            throw new IllegalArgumentException();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package benchmarks;
+
+import disjointsets.LockFreeDisjointSets;
+import disjointsets.UnionBySizeArrayDisjointSets;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * A concurrent stress test for {@link LockFreeDisjointSets}. Each round races many threads over one
+ * instance and checks the outcome against {@link UnionBySizeArrayDisjointSets} run sequentially:
+ * <ul>
+ *     <li>threads reserve ids with {@code makeSets} of random sizes until the capacity runs out;
+ *     every id must be handed out exactly once;</li>
+ *     <li>every thread calls {@code makeSet} on every item; exactly one call per item may succeed,
+ *     and failed duplicates must not use up ids;</li>
+ *     <li>every thread applies the same batch of random unions, starting at different offsets;
+ *     exactly one call must succeed per merge, the final sets must match the sequential ones, and a
+ *     concurrent reader must never see {@code sameSet} hold for ids that end up apart.</li>
+ * </ul>
+ *
+ * Usage: {@code LockFreeDisjointSetsStressTest [threads [items [rounds]]]}. Throws
+ * {@link IllegalStateException} on the first failed check.
+ */
+public class LockFreeDisjointSetsStressTest {
+    private static final long SEED = 373;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        int items = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        Random random = new Random(SEED);
+        for (int round = 0; round < rounds; round++) {
+            long seed = random.nextLong();
+            checkMakeSets(threads, items, seed);
+            checkMakeSet(threads, items);
+            checkUnions(threads, items, seed);
+            System.out.println("round " + round + ": ok");
+        }
+    }
+
+    private static void checkMakeSets(int threads, int items, long seed) throws InterruptedException {
+        LockFreeDisjointSets<Void> sets = new LockFreeDisjointSets<>(items);
+        int[] owners = new int[items];
+        AtomicInteger duplicates = new AtomicInteger();
+        race(threads, thread -> {
+            Random random = new Random(seed + thread);
+            int batch = 1 + random.nextInt(64);
+            while (true) {
+                int first;
+                try {
+                    first = sets.makeSets(batch);
+                } catch (IllegalStateException e) {
+                    if (batch == 1) {
+                        return;
+                    }
+                    batch = 1;
+                    continue;
+                }
+                for (int id = first; id < first + batch; id++) {
+                    // owners are thread + 1, so 0 means unclaimed
+                    synchronized (owners) {
+                        if (owners[id] != 0) {
+                            duplicates.incrementAndGet();
+                        }
+                        owners[id] = thread + 1;
+                    }
+                }
+            }
+        });
+        check(duplicates.get() == 0, duplicates.get() + " ids were handed out twice");
+        check(sets.size() == items, "size " + sets.size() + " after filling capacity " + items);
+        for (int id = 0; id < items; id++) {
+            check(owners[id] != 0, "id " + id + " was never handed out");
+        }
+    }
+
+    private static void checkMakeSet(int threads, int items) throws InterruptedException {
+        LockFreeDisjointSets<Integer> sets = new LockFreeDisjointSets<>(items);
+        AtomicInteger created = new AtomicInteger();
+        race(threads, thread -> {
+            for (int i = 0; i < items; i++) {
+                try {
+                    sets.makeSet((i + thread * 7919) % items);
+                    created.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // another thread made this set first
+                }
+            }
+        });
+        check(created.get() == items, created.get() + " successful makeSet calls for " + items + " items");
+        check(sets.size() == items, "size " + sets.size() + " after making " + items + " sets");
+        boolean[] seen = new boolean[items];
+        for (int i = 0; i < items; i++) {
+            int id = sets.findSet(i);
+            check(!seen[id], "two items share id " + id);
+            seen[id] = true;
+        }
+    }
+
+    private static void checkUnions(int threads, int items, long seed) throws InterruptedException {
+        Random random = new Random(seed);
+        int unions = items / 2 + random.nextInt(items);
+        int[] from = new int[unions];
+        int[] to = new int[unions];
+        for (int i = 0; i < unions; i++) {
+            from[i] = random.nextInt(items);
+            to[i] = random.nextInt(items);
+        }
+        UnionBySizeArrayDisjointSets<Void> expected = new UnionBySizeArrayDisjointSets<>(items);
+        expected.makeSets(items);
+        int merges = 0;
+        for (int i = 0; i < unions; i++) {
+            if (expected.union(from[i], to[i])) {
+                merges++;
+            }
+        }
+        List<int[]> apart = new ArrayList<>();
+        while (apart.size() < 1000) {
+            int a = random.nextInt(items);
+            int b = random.nextInt(items);
+            if (expected.find(a) != expected.find(b)) {
+                apart.add(new int[]{a, b});
+            }
+        }
+
+        LockFreeDisjointSets<Void> sets = new LockFreeDisjointSets<>(items);
+        sets.makeSets(items);
+        AtomicInteger successfulUnions = new AtomicInteger();
+        AtomicBoolean unionsDone = new AtomicBoolean();
+        AtomicInteger wrongSameSets = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (!unionsDone.get()) {
+                for (int[] pair : apart) {
+                    if (sets.sameSet(pair[0], pair[1])) {
+                        wrongSameSets.incrementAndGet();
+                    }
+                }
+            }
+        });
+        reader.start();
+        race(threads, thread -> {
+            int offset = (int) ((long) unions * thread / threads);
+            for (int k = 0; k < unions; k++) {
+                int i = (offset + k) % unions;
+                if (sets.union(from[i], to[i])) {
+                    successfulUnions.incrementAndGet();
+                }
+            }
+        });
+        unionsDone.set(true);
+        reader.join();
+
+        check(successfulUnions.get() == merges, successfulUnions.get() + " unions succeeded; expected " + merges);
+        check(wrongSameSets.get() == 0, "sameSet held " + wrongSameSets.get() + " times for ids in different sets");
+        Map<Integer, Integer> roots = new HashMap<>();
+        Map<Integer, Integer> expectedRoots = new HashMap<>();
+        for (int id = 0; id < items; id++) {
+            int root = sets.find(id);
+            int expectedRoot = expected.find(id);
+            check(roots.computeIfAbsent(expectedRoot, r -> root) == root
+                && expectedRoots.computeIfAbsent(root, r -> expectedRoot) == expectedRoot,
+                "id " + id + " is in the wrong set");
+        }
+        for (int i = 0; i < unions; i++) {
+            check(sets.sameSet(from[i], to[i]), "ids " + from[i] + " and " + to[i] + " are apart after their union");
+        }
+    }
+
+    /**
+     * Runs the task on the given number of threads, released together to maximize contention.
+     */
+    private static void race(int threads, IntConsumer task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    task.accept(thread);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("a worker thread failed", failures.get(0));
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import maps.ChainedHashMap;
+import maps.HashedArrayMap;
+import maps.RobinHoodHashMap;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares the hash maps on {@link AbstractMapBenchmark}'s workloads at sizes from 1K to 10M keys,
+ * with {@link HashMap} as a baseline. {@code ArrayMap} takes linear time per operation, so it has
+ * {@link ArrayMapBenchmark} with smaller sizes instead.
+ */
+public class MapBenchmark extends AbstractMapBenchmark {
+    @Param({"CHAINED", "ROBIN_HOOD", "HASHED_ARRAY", "JAVA_HASH_MAP"})
+    String implementation;
+
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "COLLIDING"})
+    KeyDistribution distribution;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prepare(size, distribution);
+    }
+
+    @Override
+    protected Map<Object, Integer> createMap() {
+        switch (implementation) {
+            case "CHAINED":
+                return new ChainedHashMap<>();
+            case "ROBIN_HOOD":
+                return new RobinHoodHashMap<>();
+            case "HASHED_ARRAY":
+                return new HashedArrayMap<>();
+            case "JAVA_HASH_MAP":
+                return new HashMap<>();
+            default:
+                throw new IllegalArgumentException("unknown implementation: " + implementation);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A weighted directed graph stored in a binary file that is read by memory-mapping it.
+ *
+ * Opening a file maps its sections read-only and wraps them in a {@link CsrGraph} without copying
+ * or parsing anything, so a graph of any size is usable almost immediately, pages are loaded
+ * lazily as searches touch them, and JVMs opening the same file share one copy through the page
+ * cache. To search the graph without creating an object per edge, use
+ * {@link graphs.shortestpaths.CsrDijkstraShortestPathFinder} and
+ * {@link graphs.minspantrees.CsrKruskalMinimumSpanningTreeFinder}, which read the mapped arrays by
+ * id; the generic finders also work, but go through {@link CsrGraph}'s per-edge {@link Edge} views.
+ *
+ * All values are little-endian. The file starts with a 64-byte header:
+ * <pre>
+ *   0  int   magic ("GRPH")
+ *   4  int   format version
+ *   8  int   flags (bit 0: the file has a vertex label table)
+ *  12  int   vertex count n
+ *  16  int   edge count m
+ *  20  int   reserved, 0
+ *  24  long  byte offset of the vertex labels: n longs, if present
+ *  32  long  byte offset of the edge offsets: n + 1 ints
+ *  40  long  byte offset of the edge targets: m ints
+ *  48  long  byte offset of the edge weights: m doubles
+ *  56  long  file length
+ * </pre>
+ * followed by the sections, each starting at a multiple of 8 bytes. Vertex labels are arbitrary
+ * longs, such as ids from an external data set.
+ *
+ * Each section gets its own mapping, and a mapping is limited to 2 GB, so at most about 268 million
+ * edges fit in one file.
+ */
+public class MappedGraphFile {
+    private static final int MAGIC = 0x48505247; // "GRPH" when read little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int HAS_LABELS = 1;
+    private static final int WRITE_CHUNK_BYTES = 1 << 16;
+
+    private final CsrGraph<Integer> graph;
+    private final LongBuffer labels;
+
+    private MappedGraphFile(CsrGraph<Integer> graph, LongBuffer labels) {
+        this.graph = graph;
+        this.labels = labels;
+    }
+
+    /**
+     * Returns the mapped graph, whose vertices are the integers {@code [0, vertexCount)}.
+     */
+    public CsrGraph<Integer> graph() {
+        return graph;
+    }
+
+    public boolean hasVertexLabels() {
+        return labels != null;
+    }
+
+    /**
+     * Returns the label stored for the vertex.
+     *
+     * @throws IllegalStateException if the file has no vertex labels.
+     */
+    public long vertexLabel(int vertex) {
+        if (labels == null) {
+            throw new IllegalStateException("graph file has no vertex labels");
+        }
+        return labels.get(vertex);
+    }
+
+    /**
+     * Maps the graph file at the given path.
+     *
+     * @throws IOException if the file cannot be read or is not a graph file of this version.
+     */
+    public static MappedGraphFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("not a graph file: " + path);
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("not a graph file: " + path);
+            }
+            int version = header.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("unsupported graph file version " + version + ": " + path);
+            }
+            int flags = header.getInt(8);
+            int vertexCount = header.getInt(12);
+            int edgeCount = header.getInt(16);
+            if (vertexCount < 0 || edgeCount < 0 || header.getLong(56) != channel.size()) {
+                throw new IOException("corrupt graph file: " + path);
+            }
+
+            LongBuffer labels = null;
+            if ((flags & HAS_LABELS) != 0) {
+                labels = map(channel, header.getLong(24), 8L * vertexCount).asLongBuffer();
+            }
+            IntBuffer offsets = map(channel, header.getLong(32), 4L * (vertexCount + 1L)).asIntBuffer();
+            IntBuffer targets = map(channel, header.getLong(40), 4L * edgeCount).asIntBuffer();
+            DoubleBuffer weights = map(channel, header.getLong(48), 8L * edgeCount).asDoubleBuffer();
+            if (offsets.get(0) != 0 || offsets.get(vertexCount) != edgeCount) {
+                throw new IOException("corrupt graph file: " + path);
+            }
+            return new MappedGraphFile(CsrGraph.withIntegerVertices(offsets, targets, weights), labels);
+        }
+    }
+
+    /**
+     * Writes the graph to the given path, replacing any existing file.
+     */
+    public static void write(Path path, CsrGraph<?> graph) throws IOException {
+        write(path, graph, null);
+    }
+
+    /**
+     * Writes the graph and a label for each of its vertices, by id, to the given path, replacing any
+     * existing file.
+     *
+     * @param labels one label per vertex, or null to write no label table.
+     * @throws IllegalArgumentException if the graph is too large for the format, or the number of
+     *                                  labels does not match the number of vertices.
+     */
+    public static void write(Path path, CsrGraph<?> graph, long[] labels) throws IOException {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        if (labels != null && labels.length != n) {
+            throw new IllegalArgumentException("expected " + n + " labels but got " + labels.length);
+        }
+        if (8L * m > Integer.MAX_VALUE || 8L * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("graph too large for one mapping per section");
+        }
+        long labelsOffset = HEADER_BYTES;
+        long offsetsOffset = labelsOffset + (labels == null ? 0 : 8L * n);
+        long targetsOffset = align(offsetsOffset + 4L * (n + 1L));
+        long weightsOffset = align(targetsOffset + 4L * m);
+        long length = weightsOffset + 8L * m;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(labels == null ? 0 : HAS_LABELS)
+            .putInt(n).putInt(m).putInt(0)
+            .putLong(labelsOffset).putLong(offsetsOffset).putLong(targetsOffset).putLong(weightsOffset)
+            .putLong(length)
+            .flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header, 0);
+            ByteBuffer chunk = ByteBuffer.allocate(WRITE_CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long position = labelsOffset;
+            if (labels != null) {
+                for (long label : labels) {
+                    position = flushIfFull(channel, chunk, position, Long.BYTES);
+                    chunk.putLong(label);
+                }
+                position = flush(channel, chunk, position);
+            }
+            for (int v = 0; v <= n; v++) {
+                position = flushIfFull(channel, chunk, position, Integer.BYTES);
+                chunk.putInt(v < n ? graph.firstEdge(v) : m);
+            }
+            flush(channel, chunk, position);
+            position = targetsOffset;
+            for (int e = 0; e < m; e++) {
+                position = flushIfFull(channel, chunk, position, Integer.BYTES);
+                chunk.putInt(graph.target(e));
+            }
+            flush(channel, chunk, position);
+            position = weightsOffset;
+            for (int e = 0; e < m; e++) {
+                position = flushIfFull(channel, chunk, position, Double.BYTES);
+                chunk.putDouble(graph.weight(e));
+            }
+            flush(channel, chunk, position);
+            // with no edges, the padding before the empty weights section is never written
+            if (channel.size() < length) {
+                writeFully(channel, ByteBuffer.allocate(1), length - 1);
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (position < 0 || size > Integer.MAX_VALUE || position + size > channel.size()) {
+            throw new IOException("corrupt graph file: section out of bounds");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static long flushIfFull(FileChannel channel, ByteBuffer chunk, long position, int needed)
+        throws IOException {
+        return chunk.remaining() < needed ? flush(channel, chunk, position) : position;
+    }
+
+    /**
+     * Writes out the chunk's contents at the given file position and empties it.
+     *
+     * @return the file position after the written bytes
+     */
+    private static long flush(FileChannel channel, ByteBuffer chunk, long position) throws IOException {
+        chunk.flip();
+        int bytes = chunk.remaining();
+        writeFully(channel, chunk, position);
+        chunk.clear();
+        return position + bytes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
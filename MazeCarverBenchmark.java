@@ -0,0 +1,103 @@
+package benchmarks;
+
+import disjointsets.DisjointSets;
+import disjointsets.UnionBySizeCompressingDisjointSets;
+import graphs.BaseEdge;
+import graphs.CsrGraph;
+import graphs.Edge;
+import graphs.KruskalGraph;
+import graphs.minspantrees.KruskalMinimumSpanningTreeFinder;
+import graphs.minspantrees.MinimumSpanningTree;
+import mazes.entities.Wall;
+import mazes.logic.carvers.EllerMazeCarver;
+import mazes.logic.carvers.KruskalMazeCarver;
+import mazes.logic.carvers.ShuffledKruskalMazeCarver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of carving a square grid maze with {@code side * side} rooms.
+ *
+ * {@link KruskalMazeCarver} gives every wall a random weight and takes a minimum spanning tree of
+ * the room graph; {@code kruskalMazeCarver} runs it on the walls of a grid through
+ * {@link BenchmarkKruskalMazeCarver}, and {@code kruskalOnRoomGraph} runs the same minimum spanning
+ * tree on a grid graph without room or wall objects. The other two run the grid carvers directly.
+ *
+ * Both Kruskal cases use {@link UnionBySizeCompressingDisjointSets}; the carver as shipped, with the
+ * finder's default quick-find sets, is measured at small sizes by {@link DefaultKruskalBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MazeCarverBenchmark {
+    private static final long SEED = 373;
+
+    @Param({"32", "316", "1000"})
+    int side;
+
+    private CsrGraph<Integer> roomGraph;
+    private KruskalMinimumSpanningTreeFinder<CsrGraph<Integer>, Integer, Edge<Integer>> kruskal;
+    private Set<Wall> walls;
+    private BenchmarkKruskalMazeCarver kruskalCarver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roomGraph = GraphGenerators.grid(side, side, SEED);
+        kruskal = compressingKruskal();
+        walls = BenchmarkKruskalMazeCarver.gridWalls(side);
+        kruskalCarver = new BenchmarkKruskalMazeCarver(compressingKruskal(), SEED);
+    }
+
+    /**
+     * Returns a Kruskal finder that uses {@link UnionBySizeCompressingDisjointSets} instead of its
+     * default quick-find sets.
+     */
+    private static <G extends KruskalGraph<V, E>, V, E extends BaseEdge<V, E>>
+        KruskalMinimumSpanningTreeFinder<G, V, E> compressingKruskal() {
+        return new KruskalMinimumSpanningTreeFinder<>() {
+            @Override
+            protected DisjointSets<V> createDisjointSets() {
+                return new UnionBySizeCompressingDisjointSets<>();
+            }
+        };
+    }
+
+    @Benchmark
+    public Set<Wall> kruskalMazeCarver() {
+        return kruskalCarver.carve(walls);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree<Integer, Edge<Integer>> kruskalOnRoomGraph() {
+        return kruskal.findMinimumSpanningTree(roomGraph);
+    }
+
+    @Benchmark
+    public BitSet shuffledKruskalGrid() {
+        return ShuffledKruskalMazeCarver.carveGrid(side, side, SEED);
+    }
+
+    @Benchmark
+    public long eller() {
+        long[] removed = new long[1];
+        new EllerMazeCarver(side, SEED).carve(side, (row, col, wallSide) -> removed[0]++);
+        return removed[0];
+    }
+}
@@ -0,0 +1,41 @@
+package priorityqueues;
+
+/**
+ * The {@link ExtrinsicMinPQ} implementations that graph algorithms can be configured to use.
+ */
+public enum MinPQKind {
+    DOUBLE_MAP,
+    ARRAY_HEAP,
+    PRIMITIVE_HEAP,
+    DARY_HEAP_4,
+    DARY_HEAP_8,
+    PAIRING_HEAP,
+    /**
+     * A pairing heap that rejects priorities below the last removed one; only suitable for
+     * monotone workloads such as Dijkstra's algorithm with non-negative edge weights.
+     */
+    MONOTONE_PAIRING_HEAP;
+
+    /**
+     * Returns a new, empty priority queue of this kind.
+     */
+    public <T> ExtrinsicMinPQ<T> create() {
+        switch (this) {
+            case ARRAY_HEAP:
+                return new ArrayHeapMinPQ<>();
+            case PRIMITIVE_HEAP:
+                return new PrimitiveHeapMinPQ<>();
+            case DARY_HEAP_4:
+                return new DaryHeapMinPQ<>(4);
+            case DARY_HEAP_8:
+                return new DaryHeapMinPQ<>(8);
+            case PAIRING_HEAP:
+                return new PairingHeapMinPQ<>(false);
+            case MONOTONE_PAIRING_HEAP:
+                return new PairingHeapMinPQ<>(true);
+            case DOUBLE_MAP:
+            default:
+                return new DoubleMapMinPQ<>();
+        }
+    }
+}
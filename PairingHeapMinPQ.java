@@ -0,0 +1,257 @@
+package priorityqueues;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A pairing heap: decreasing a priority is O(1) amortized, which suits workloads like Dijkstra's
+ * algorithm that perform many more decrease-keys than removals.
+ *
+ * The heap is stored in parallel arrays indexed by node slot rather than as linked node objects;
+ * freed slots are recycled, so steady-state operations do not allocate.
+ *
+ * When constructed as monotone, the heap enforces that no item is ever given a priority smaller than
+ * the last priority removed, which is the contract Dijkstra's algorithm with non-negative weights
+ * satisfies. Violations throw {@link IllegalArgumentException} instead of silently returning items
+ * out of order to a caller relying on monotonicity.
+ *
+ * @see ExtrinsicMinPQ
+ */
+public class PairingHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int NONE = -1;
+
+    private final boolean monotone;
+    private double lastRemovedPriority;
+
+    private Object[] items;
+    private double[] priorities;
+    // leftmost child of each node
+    private int[] child;
+    // next sibling to the right
+    private int[] sibling;
+    // left sibling, or the parent if the node is a leftmost child
+    private int[] prev;
+    private final ItemIndex<T> slots;
+    private int root;
+    private int size;
+    // head of the list of freed slots, chained through sibling[]
+    private int free;
+    private int used;
+    // scratch space for the two-pass pairing in removeMin
+    private int[] pairs;
+
+    public PairingHeapMinPQ() {
+        this(false);
+    }
+
+    /**
+     * @param monotone whether to reject priorities smaller than the last removed priority.
+     */
+    public PairingHeapMinPQ(boolean monotone) {
+        this.monotone = monotone;
+        this.lastRemovedPriority = Double.NEGATIVE_INFINITY;
+        this.items = new Object[DEFAULT_INITIAL_CAPACITY];
+        this.priorities = new double[DEFAULT_INITIAL_CAPACITY];
+        this.child = new int[DEFAULT_INITIAL_CAPACITY];
+        this.sibling = new int[DEFAULT_INITIAL_CAPACITY];
+        this.prev = new int[DEFAULT_INITIAL_CAPACITY];
+        this.pairs = new int[DEFAULT_INITIAL_CAPACITY];
+        this.slots = new ItemIndex<>(DEFAULT_INITIAL_CAPACITY);
+        this.root = NONE;
+        this.size = 0;
+        this.free = NONE;
+        this.used = 0;
+    }
+
+    /**
+     * Returns whether this heap enforces the monotone contract.
+     */
+    public boolean isMonotone() {
+        return monotone;
+    }
+
+    private void checkMonotone(double priority) {
+        if (monotone && priority < lastRemovedPriority) {
+            throw new IllegalArgumentException("priority " + priority
+                + " is smaller than the last removed priority " + lastRemovedPriority);
+        }
+    }
+
+    private int allocate(T item, double priority) {
+        int node;
+        if (free != NONE) {
+            node = free;
+            free = sibling[node];
+        } else {
+            if (used == items.length) {
+                int newCapacity = used * 2;
+                items = Arrays.copyOf(items, newCapacity);
+                priorities = Arrays.copyOf(priorities, newCapacity);
+                child = Arrays.copyOf(child, newCapacity);
+                sibling = Arrays.copyOf(sibling, newCapacity);
+                prev = Arrays.copyOf(prev, newCapacity);
+            }
+            node = used++;
+        }
+        items[node] = item;
+        priorities[node] = priority;
+        child[node] = NONE;
+        sibling[node] = NONE;
+        prev[node] = NONE;
+        return node;
+    }
+
+    private void release(int node) {
+        items[node] = null;
+        sibling[node] = free;
+        free = node;
+    }
+
+    /**
+     * Links two detached trees, making the root with the larger priority the leftmost child of the
+     * other, and returns the new root.
+     */
+    private int link(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        if (priorities[b] < priorities[a]) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        int first = child[a];
+        sibling[b] = first;
+        if (first != NONE) {
+            prev[first] = b;
+        }
+        prev[b] = a;
+        child[a] = b;
+        sibling[a] = NONE;
+        prev[a] = NONE;
+        return a;
+    }
+
+    /**
+     * Detaches the subtree rooted at the given non-root node from its parent and siblings.
+     */
+    private void cut(int node) {
+        int left = prev[node];
+        int right = sibling[node];
+        if (child[left] == node) {
+            child[left] = right;
+        } else {
+            sibling[left] = right;
+        }
+        if (right != NONE) {
+            prev[right] = left;
+        }
+        sibling[node] = NONE;
+        prev[node] = NONE;
+    }
+
+    /**
+     * Combines the sibling list starting at {@code first} into a single tree using the standard
+     * two-pass pairing: link adjacent pairs left to right, then fold the results right to left.
+     */
+    private int combineSiblings(int first) {
+        int count = 0;
+        int current = first;
+        while (current != NONE) {
+            int a = current;
+            int b = sibling[a];
+            current = b == NONE ? NONE : sibling[b];
+            sibling[a] = NONE;
+            prev[a] = NONE;
+            if (b != NONE) {
+                sibling[b] = NONE;
+                prev[b] = NONE;
+            }
+            if (count == pairs.length) {
+                pairs = Arrays.copyOf(pairs, count * 2);
+            }
+            pairs[count++] = link(a, b);
+        }
+        int result = NONE;
+        for (int i = count - 1; i >= 0; i--) {
+            result = link(pairs[i], result);
+        }
+        return result;
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || slots.contains(item)) {
+            throw new IllegalArgumentException();
+        }
+        checkMonotone(priority);
+        int node = allocate(item, priority);
+        slots.put(item, node);
+        root = link(root, node);
+        size++;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && slots.contains(item);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) items[root];
+    }
+
+    @Override
+    public T removeMin() {
+        T minItem = peekMin();
+        int oldRoot = root;
+        lastRemovedPriority = priorities[oldRoot];
+        root = combineSiblings(child[oldRoot]);
+        slots.remove(minItem);
+        release(oldRoot);
+        size--;
+        return minItem;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        int node = item == null ? ItemIndex.ABSENT : slots.get(item);
+        if (node == ItemIndex.ABSENT) {
+            throw new NoSuchElementException();
+        }
+        checkMonotone(priority);
+        double oldPriority = priorities[node];
+        if (priority < oldPriority) {
+            priorities[node] = priority;
+            if (node != root) {
+                cut(node);
+                root = link(root, node);
+            }
+        } else if (priority > oldPriority) {
+            // detach the node, merge its children back in, then reinsert it on its own
+            int children = combineSiblings(child[node]);
+            child[node] = NONE;
+            if (node == root) {
+                root = children;
+            } else {
+                cut(node);
+                root = link(root, children);
+            }
+            priorities[node] = priority;
+            root = link(root, node);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,95 @@
+package graphs.minspantrees;
+
+import graphs.BaseEdge;
+import graphs.KruskalGraph;
+import priorityqueues.DoubleMapMinPQ;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQKind;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes minimum spanning trees using Prim's algorithm.
+ *
+ * The tree is grown from an arbitrary vertex by repeatedly taking the cheapest edge leaving it,
+ * using only {@code outgoingEdgesFrom} to explore the graph; {@code allVertices} is only used to
+ * pick the start and to tell whether the tree spans the graph. With no sort over all edges, this
+ * beats Kruskal's algorithm on dense graphs.
+ *
+ * @see MinimumSpanningTreeFinder for more documentation.
+ */
+public class PrimMinimumSpanningTreeFinder<G extends KruskalGraph<V, E>, V, E extends BaseEdge<V, E>>
+    implements MinimumSpanningTreeFinder<G, V, E> {
+
+    private final MinPQKind minPQKind;
+
+    /**
+     * Constructs a new finder that uses {@link DoubleMapMinPQ} as its priority queue.
+     */
+    public PrimMinimumSpanningTreeFinder() {
+        this(MinPQKind.DOUBLE_MAP);
+    }
+
+    /**
+     * Constructs a new finder that uses the given kind of priority queue. Prim's algorithm does not
+     * remove priorities in increasing order, so monotone kinds must not be used.
+     */
+    public PrimMinimumSpanningTreeFinder(MinPQKind minPQKind) {
+        if (minPQKind == MinPQKind.MONOTONE_PAIRING_HEAP) {
+            throw new IllegalArgumentException();
+        }
+        this.minPQKind = minPQKind;
+    }
+
+    protected <T> ExtrinsicMinPQ<T> createMinPQ() {
+        return minPQKind.create();
+    }
+
+    @Override
+    public MinimumSpanningTree<V, E> findMinimumSpanningTree(G graph) {
+        Set<E> mstEdges = new HashSet<>();
+        int vertexCount = graph.allVertices().size();
+        if (vertexCount <= 1) {
+            return new MinimumSpanningTree.Success<>(mstEdges);
+        }
+        Iterator<V> vertices = graph.allVertices().iterator();
+        V start = vertices.next();
+
+        Set<V> inTree = new HashSet<>();
+        // cheapest known edge connecting each vertex outside the tree to the tree
+        Map<V, E> cheapestEdge = new HashMap<>();
+        ExtrinsicMinPQ<V> frontier = createMinPQ();
+        frontier.add(start, 0.0);
+
+        while (!frontier.isEmpty()) {
+            V vertex = frontier.removeMin();
+            inTree.add(vertex);
+            E treeEdge = cheapestEdge.remove(vertex);
+            if (treeEdge != null) {
+                mstEdges.add(treeEdge);
+            }
+            for (E edge : graph.outgoingEdgesFrom(vertex)) {
+                V neighbor = edge.from().equals(vertex) ? edge.to() : edge.from();
+                if (inTree.contains(neighbor)) {
+                    continue;
+                }
+                E current = cheapestEdge.get(neighbor);
+                if (current == null) {
+                    cheapestEdge.put(neighbor, edge);
+                    frontier.add(neighbor, edge.weight());
+                } else if (edge.weight() < current.weight()) {
+                    cheapestEdge.put(neighbor, edge);
+                    frontier.changePriority(neighbor, edge.weight());
+                }
+            }
+        }
+        if (mstEdges.size() == vertexCount - 1) {
+            return new MinimumSpanningTree.Success<>(mstEdges);
+        }
+        return new MinimumSpanningTree.Failure<>();
+    }
+}
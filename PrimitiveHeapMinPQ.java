@@ -0,0 +1,232 @@
+package priorityqueues;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap that keeps priorities in a {@code double[]} and items in a parallel
+ * {@code Object[]}, with item positions tracked in an open-addressing {@link ItemIndex}.
+ *
+ * Unlike {@link ArrayHeapMinPQ}, no node objects are created and no indices are boxed, so once the
+ * arrays have grown to the working-set size, {@code add}, {@code removeMin} and
+ * {@code changePriority} do not allocate.
+ *
+ * @see ExtrinsicMinPQ
+ */
+public class PrimitiveHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private double[] priorities;
+    private Object[] items;
+    private final ItemIndex<T> positions;
+    private int size;
+
+    public PrimitiveHeapMinPQ() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity the number of items the heap can hold before growing. Must be > 0.
+     */
+    public PrimitiveHeapMinPQ(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.priorities = new double[initialCapacity];
+        this.items = new Object[initialCapacity];
+        this.positions = new ItemIndex<>(initialCapacity);
+        this.size = 0;
+    }
+
+    /**
+     * Constructs a heap holding the given items and priorities, built in linear time.
+     */
+    public PrimitiveHeapMinPQ(Map<T, Double> initialItems) {
+        this(Math.max(initialItems.size(), 1));
+        addAll(initialItems);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T itemAt(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Moves the item at {@code index} up until its parent's priority is no larger.
+     */
+    private void siftUp(int index) {
+        T item = itemAt(index);
+        double priority = priorities[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            place(index, itemAt(parent), priorities[parent]);
+            index = parent;
+        }
+        place(index, item, priority);
+    }
+
+    /**
+     * Moves the item at {@code index} down until neither child has a smaller priority.
+     */
+    private void siftDown(int index) {
+        T item = itemAt(index);
+        double priority = priorities[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && priorities[right] < priorities[child]) {
+                child = right;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            place(index, itemAt(child), priorities[child]);
+            index = child;
+        }
+        place(index, item, priority);
+    }
+
+    private void place(int index, T item, double priority) {
+        items[index] = item;
+        priorities[index] = priority;
+        positions.put(item, index);
+    }
+
+    /**
+     * Restores the heap property over the whole array bottom-up (Floyd's method), in O(size) time.
+     */
+    private void heapify() {
+        for (int index = (size >>> 1) - 1; index >= 0; index--) {
+            siftDown(index);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            int newCapacity = Math.max(items.length * 2, capacity);
+            items = Arrays.copyOf(items, newCapacity);
+            priorities = Arrays.copyOf(priorities, newCapacity);
+        }
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || positions.contains(item)) {
+            throw new IllegalArgumentException();
+        }
+        ensureCapacity(size + 1);
+        items[size] = item;
+        priorities[size] = priority;
+        size++;
+        siftUp(size - 1);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && positions.contains(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return itemAt(0);
+    }
+
+    @Override
+    public T removeMin() {
+        T minItem = peekMin();
+        positions.remove(minItem);
+        size--;
+        if (size > 0) {
+            items[0] = items[size];
+            priorities[0] = priorities[size];
+            items[size] = null;
+            siftDown(0);
+        } else {
+            items[0] = null;
+        }
+        return minItem;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        int index = item == null ? ItemIndex.ABSENT : positions.get(item);
+        if (index == ItemIndex.ABSENT) {
+            throw new NoSuchElementException();
+        }
+        double oldPriority = priorities[index];
+        priorities[index] = priority;
+        if (priority < oldPriority) {
+            siftUp(index);
+        } else if (priority > oldPriority) {
+            siftDown(index);
+        }
+    }
+
+    /**
+     * Adds all the given items with their priorities. When the batch is large relative to the heap,
+     * the heap is rebuilt once in linear time instead of sifting up each new item.
+     *
+     * @throws IllegalArgumentException if any item is null or already present, or a priority is null
+     */
+    public void addAll(Map<T, Double> newItems) {
+        HeapBatches.checkNewItems(newItems, item -> item != null && !positions.contains(item));
+        int oldSize = size;
+        ensureCapacity(size + newItems.size());
+        for (Map.Entry<T, Double> entry : newItems.entrySet()) {
+            items[size] = entry.getKey();
+            priorities[size] = entry.getValue();
+            positions.put(entry.getKey(), size);
+            size++;
+        }
+        if (HeapBatches.isLargeBatch(newItems.size(), oldSize)) {
+            heapify();
+        } else {
+            for (int index = oldSize; index < size; index++) {
+                siftUp(index);
+            }
+        }
+    }
+
+    /**
+     * Changes the priorities of all the given items. When the batch is large relative to the heap,
+     * the heap is repaired once in linear time instead of sifting each changed item.
+     *
+     * @throws NoSuchElementException if any item is not present
+     * @throws IllegalArgumentException if any priority is null
+     */
+    public void changePriorities(Map<T, Double> newPriorities) {
+        HeapBatches.checkNewPriorities(newPriorities, this::contains);
+        if (HeapBatches.isLargeBatch(newPriorities.size(), size)) {
+            for (Map.Entry<T, Double> entry : newPriorities.entrySet()) {
+                priorities[positions.get(entry.getKey())] = entry.getValue();
+            }
+            heapify();
+        } else {
+            for (Map.Entry<T, Double> entry : newPriorities.entrySet()) {
+                changePriority(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every item, keeping the allocated arrays for reuse.
+     */
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        positions.clear();
+        size = 0;
+    }
+}
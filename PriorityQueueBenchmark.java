@@ -0,0 +1,71 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQKind;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link ExtrinsicMinPQ} implementations on a Dijkstra-like workload: a burst of adds,
+ * a round of decrease-keys, then draining the queue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PriorityQueueBenchmark {
+    private static final long SEED = 373;
+
+    @Param({"DOUBLE_MAP", "ARRAY_HEAP", "PRIMITIVE_HEAP", "DARY_HEAP_4", "DARY_HEAP_8", "PAIRING_HEAP"})
+    MinPQKind kind;
+
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    private Integer[] items;
+    private double[] priorities;
+    private double[] decreasedPriorities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+        items = new Integer[size];
+        priorities = new double[size];
+        decreasedPriorities = new double[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+            priorities[i] = random.nextDouble();
+            decreasedPriorities[i] = priorities[i] * random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public void addChangeDrain(Blackhole blackhole) {
+        ExtrinsicMinPQ<Integer> pq = kind.create();
+        for (int i = 0; i < size; i++) {
+            pq.add(items[i], priorities[i]);
+        }
+        for (int i = 0; i < size; i += 2) {
+            pq.changePriority(items[i], decreasedPriorities[i]);
+        }
+        while (!pq.isEmpty()) {
+            blackhole.consume(pq.removeMin());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Computes shortest paths using Dijkstra's algorithm, reusing one {@link DijkstraQueryContext} per
+ * thread so that repeated queries allocate little beyond their results.
+ *
+ * Requires every vertex to have a dense integer id; this finder is safe to share between threads.
+ *
+ * @see ShortestPathFinder for more documentation.
+ */
+public class ReusableDijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
+    implements ShortestPathFinder<G, V, E> {
+
+    private final ThreadLocal<DijkstraQueryContext<V, E>> contexts;
+
+    /**
+     * @param vertexCount the number of vertex ids; ids must lie in {@code [0, vertexCount)}.
+     * @param vertexIds maps each vertex to its id.
+     */
+    public ReusableDijkstraShortestPathFinder(int vertexCount, ToIntFunction<V> vertexIds) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.contexts = ThreadLocal.withInitial(() -> new DijkstraQueryContext<>(vertexCount, vertexIds));
+    }
+
+    @Override
+    public ShortestPath<V, E> findShortestPath(G graph, V start, V end) {
+        DijkstraQueryContext<V, E> context = contexts.get();
+        context.search(graph, start, end);
+        return context.extractShortestPath(start, end);
+    }
+}
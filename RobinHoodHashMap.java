@@ -0,0 +1,264 @@
+package maps;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An open-addressing hash map using Robin Hood linear probing over flat key/value arrays.
+ *
+ * Each slot stores the key's hash code alongside the key, so most mismatching slots are skipped
+ * without calling {@code equals}. Deletion shifts later entries of the probe run back by one
+ * instead of leaving tombstones, so lookups never degrade after heavy removal.
+ *
+ * @see AbstractIterableMap
+ * @see Map
+ */
+public class RobinHoodHashMap<K, V> extends AbstractIterableMap<K, V> {
+    private static final double DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD = 0.75;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    // stands in for the null key, since a null slot marks an empty slot
+    private static final Object NULL_KEY = new Object();
+    private static final int EMPTY = 0;
+
+    private Object[] keys;
+    private Object[] values;
+    // cached hash of the key in each slot, or EMPTY if the slot is unused
+    private int[] hashes;
+    private int mask;
+    private int size;
+    private final double resizeThreshold;
+
+    /**
+     * Constructs a new RobinHoodHashMap with default resizing load factor threshold and default
+     * initial capacity.
+     */
+    public RobinHoodHashMap() {
+        this(DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new RobinHoodHashMap with the given parameters.
+     *
+     * @param resizingLoadFactorThreshold the load factor threshold for resizing. When the load factor
+     *                                    exceeds this value, the table doubles. Must be in (0, 1).
+     * @param initialCapacity the initial number of slots, rounded up to a power of two. Must be > 0.
+     */
+    public RobinHoodHashMap(double resizingLoadFactorThreshold, int initialCapacity) {
+        if (resizingLoadFactorThreshold <= 0 || resizingLoadFactorThreshold >= 1 || initialCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.resizeThreshold = resizingLoadFactorThreshold;
+        allocate(Math.max(2, Integer.highestOneBit(initialCapacity - 1) << 1));
+        this.size = 0;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private static int hash(Object maskedKey) {
+        int h = maskedKey == NULL_KEY ? 0 : maskedKey.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        // EMPTY is reserved for unused slots
+        return h == EMPTY ? 1 : h;
+    }
+
+    /**
+     * Returns how far the entry with the given hash, sitting in the given slot, is from its home slot.
+     */
+    private int probeDistance(int hash, int slot) {
+        return (slot - (hash & mask)) & mask;
+    }
+
+    private int indexOf(Object key) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        int slot = hash & mask;
+        for (int distance = 0; hashes[slot] != EMPTY; distance++) {
+            // an entry closer to its home than we are to ours means the key would have displaced it
+            if (probeDistance(hashes[slot], slot) < distance) {
+                return -1;
+            }
+            if (hashes[slot] == hash && keys[slot].equals(maskedKey)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int slot = indexOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int existing = indexOf(key);
+        if (existing >= 0) {
+            V oldValue = (V) values[existing];
+            values[existing] = value;
+            return oldValue;
+        }
+        if (size + 1 > resizeThreshold * keys.length) {
+            resize();
+        }
+        Object maskedKey = maskNull(key);
+        insert(hash(maskedKey), maskedKey, value);
+        size++;
+        return null;
+    }
+
+    /**
+     * Inserts an entry known not to be present, displacing richer entries along the probe run.
+     */
+    private void insert(int hash, Object maskedKey, Object value) {
+        int slot = hash & mask;
+        int distance = 0;
+        while (hashes[slot] != EMPTY) {
+            int existingDistance = probeDistance(hashes[slot], slot);
+            if (existingDistance < distance) {
+                int tempHash = hashes[slot];
+                Object tempKey = keys[slot];
+                Object tempValue = values[slot];
+                hashes[slot] = hash;
+                keys[slot] = maskedKey;
+                values[slot] = value;
+                hash = tempHash;
+                maskedKey = tempKey;
+                value = tempValue;
+                distance = existingDistance;
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+        hashes[slot] = hash;
+        keys[slot] = maskedKey;
+        values[slot] = value;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                insert(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int slot = indexOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = (V) values[slot];
+        // backward-shift deletion: pull each following displaced entry one slot closer to home
+        int next = (slot + 1) & mask;
+        while (hashes[next] != EMPTY && probeDistance(hashes[next], next) > 0) {
+            hashes[slot] = hashes[next];
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        hashes[slot] = EMPTY;
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        allocate(keys.length);
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new RobinHoodHashMapIterator();
+    }
+
+    private class RobinHoodHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private int index;
+
+        RobinHoodHashMapIterator() {
+            this.index = 0;
+            skipEmpty();
+        }
+
+        private void skipEmpty() {
+            while (index < hashes.length && hashes[index] == EMPTY) {
+                index++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < hashes.length;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> entry = new SlotEntry(index);
+            index++;
+            skipEmpty();
+            return entry;
+        }
+    }
+
+    /**
+     * An entry backed by a table slot, so {@code setValue} writes through to the map.
+     */
+    private class SlotEntry extends SimpleEntry<K, V> {
+        private final Object[] table;
+        private final int slot;
+
+        @SuppressWarnings("unchecked")
+        SlotEntry(int slot) {
+            super(unmaskNull(keys[slot]), (V) values[slot]);
+            this.table = values;
+            this.slot = slot;
+        }
+
+        @Override
+        public V setValue(V value) {
+            table[slot] = value;
+            return super.setValue(value);
+        }
+    }
+}
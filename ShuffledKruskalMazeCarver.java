@@ -0,0 +1,125 @@
+package mazes.logic.carvers;
+
+import disjointsets.UnionBySizeArrayDisjointSets;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Carves out a maze based on Kruskal's algorithm, without building a graph or sorting weights.
+ *
+ * {@link KruskalMazeCarver} gives every wall a uniformly random weight and takes a minimum spanning
+ * tree. With independent uniform weights, the sorted order of the walls is just a uniformly random
+ * permutation, so this carver shuffles the walls instead (O(n) rather than O(n log n)) and runs
+ * union-find over dense room ids, never creating edge objects or a {@code MazeGraph}. The mazes
+ * come from the same distribution, though not the same ones for a given seed.
+ *
+ * For rectangular grids, {@link #carveGrid} skips {@link Wall} and {@link Room} objects entirely.
+ */
+public class ShuffledKruskalMazeCarver extends MazeCarver {
+    private final SplittableRandom random;
+
+    public ShuffledKruskalMazeCarver() {
+        this.random = new SplittableRandom();
+    }
+
+    /**
+     * Constructs a carver whose sequence of mazes is determined by the seed.
+     */
+    public ShuffledKruskalMazeCarver(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    protected Set<Wall> chooseWallsToRemove(Set<Wall> walls) {
+        Wall[] wallArray = walls.toArray(new Wall[0]);
+        Map<Room, Integer> roomIds = new HashMap<>();
+        for (Wall wall : wallArray) {
+            roomIds.putIfAbsent(wall.getRoom1(), roomIds.size());
+            roomIds.putIfAbsent(wall.getRoom2(), roomIds.size());
+        }
+        int[] rooms1 = new int[wallArray.length];
+        int[] rooms2 = new int[wallArray.length];
+        IntStream.range(0, wallArray.length).parallel().forEach(i -> {
+            rooms1[i] = roomIds.get(wallArray[i].getRoom1());
+            rooms2[i] = roomIds.get(wallArray[i].getRoom2());
+        });
+
+        BitSet removed = carve(roomIds.size(), wallArray.length, i -> rooms1[i], i -> rooms2[i], random.split());
+        Set<Wall> toRemove = new HashSet<>(Math.max(16, (int) (roomIds.size() / 0.75f) + 1));
+        for (int i = removed.nextSetBit(0); i >= 0; i = removed.nextSetBit(i + 1)) {
+            toRemove.add(wallArray[i]);
+        }
+        return toRemove;
+    }
+
+    /**
+     * Carves a maze out of a {@code width} by {@code height} grid of rooms, where room
+     * {@code (row, col)} has id {@code row * width + col}.
+     *
+     * Walls are numbered with the {@code height * (width - 1)} walls between horizontally adjacent
+     * rooms first, row by row, followed by the {@code (height - 1) * width} walls between vertically
+     * adjacent rooms: wall {@code row * (width - 1) + col} separates {@code (row, col)} from
+     * {@code (row, col + 1)}, and wall {@code height * (width - 1) + row * width + col} separates
+     * {@code (row, col)} from {@code (row + 1, col)}.
+     *
+     * @return the set of removed wall numbers
+     */
+    public static BitSet carveGrid(int width, int height, long seed) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException();
+        }
+        long roomCount = (long) width * height;
+        long horizontalWalls = (long) height * (width - 1);
+        long wallCount = horizontalWalls + (long) (height - 1) * width;
+        if (wallCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("grid too large: " + wallCount + " walls");
+        }
+        int rowWalls = width - 1;
+        int firstVertical = (int) horizontalWalls;
+        IntUnaryOperator room1 = wall -> wall < firstVertical
+            ? (wall / rowWalls) * width + wall % rowWalls
+            : wall - firstVertical;
+        IntUnaryOperator room2 = wall -> wall < firstVertical
+            ? (wall / rowWalls) * width + wall % rowWalls + 1
+            : wall - firstVertical + width;
+        return carve((int) roomCount, (int) wallCount, room1, room2, new SplittableRandom(seed));
+    }
+
+    /**
+     * Runs Kruskal's algorithm over the walls in a random order.
+     *
+     * @return the set of removed wall numbers
+     */
+    private static BitSet carve(int roomCount, int wallCount, IntUnaryOperator room1, IntUnaryOperator room2,
+                                SplittableRandom random) {
+        int[] order = new int[wallCount];
+        Arrays.parallelSetAll(order, i -> i);
+        UnionBySizeArrayDisjointSets<Void> rooms = new UnionBySizeArrayDisjointSets<>(Math.max(1, roomCount));
+        rooms.makeSets(roomCount);
+        BitSet removed = new BitSet(wallCount);
+        int remaining = roomCount - 1;
+        // a forward Fisher-Yates shuffle, drawing each wall as it is needed, so the walls left over
+        // once every room is connected are never shuffled
+        for (int i = 0; i < wallCount && remaining > 0; i++) {
+            int j = i + random.nextInt(wallCount - i);
+            int wall = order[j];
+            order[j] = order[i];
+            order[i] = wall;
+            if (rooms.union(room1.applyAsInt(wall), room2.applyAsInt(wall))) {
+                removed.set(wall);
+                remaining--;
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,137 @@
+package graphs.shortestpaths;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of integer ids in {@code [0, capacity)} with decrease-key, whose contents can
+ * be discarded in O(1).
+ *
+ * Every id ever offered since the last {@link #clear()} is "reached" and keeps its best key, even
+ * after it has been popped; generation stamps tell reached ids from stale ones, so clearing never
+ * has to touch the arrays.
+ */
+class StampedMinHeap {
+    private static final int NOT_QUEUED = -1;
+
+    private final double[] keys;
+    private final int[] stamps;
+    private final int[] positions;
+    private final int[] heap;
+    private int size;
+    private int generation;
+
+    StampedMinHeap(int capacity) {
+        this.keys = new double[capacity];
+        this.stamps = new int[capacity];
+        this.positions = new int[capacity];
+        this.heap = new int[capacity];
+        this.generation = 1;
+    }
+
+    /**
+     * Forgets every id.
+     */
+    void clear() {
+        size = 0;
+        generation++;
+        if (generation == 0) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean isReached(int id) {
+        return stamps[id] == generation;
+    }
+
+    /**
+     * Returns the best key offered for the id since the last clear, or infinity if there was none.
+     */
+    double key(int id) {
+        return isReached(id) ? keys[id] : Double.POSITIVE_INFINITY;
+    }
+
+    double minKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Queues the id with the given key if it beats the id's current key, re-queueing it if it had
+     * already been popped.
+     *
+     * @return whether the key was lowered
+     */
+    boolean offer(int id, double key) {
+        if (!isReached(id)) {
+            stamps[id] = generation;
+            positions[id] = NOT_QUEUED;
+        } else if (key >= keys[id]) {
+            return false;
+        }
+        keys[id] = key;
+        if (positions[id] == NOT_QUEUED) {
+            heap[size] = id;
+            positions[id] = size;
+            size++;
+        }
+        siftUp(positions[id]);
+        return true;
+    }
+
+    /**
+     * Removes and returns the id with the smallest key; its key stays available through {@link #key}.
+     */
+    int pop() {
+        int min = heap[0];
+        positions[min] = NOT_QUEUED;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int index) {
+        int id = heap[index];
+        double key = keys[id];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[index] = parentId;
+            positions[parentId] = index;
+            index = parent;
+        }
+        heap[index] = id;
+        positions[id] = index;
+    }
+
+    private void siftDown(int index) {
+        int id = heap[index];
+        double key = keys[id];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            int childId = heap[child];
+            if (key <= keys[childId]) {
+                break;
+            }
+            heap[index] = childId;
+            positions[childId] = index;
+            index = child;
+        }
+        heap[index] = id;
+        positions[id] = index;
+    }
+}
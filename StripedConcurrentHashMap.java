@@ -0,0 +1,332 @@
+package maps;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe hash map whose chains are split into independently locked stripes.
+ *
+ * Each stripe owns its own chain array, so writers only contend when their keys hash to the same
+ * stripe, and a stripe that fills up resizes on its own without blocking the others. Chain nodes are
+ * immutable apart from their values and are published through an {@link AtomicReferenceArray}, so
+ * {@code get} and {@code containsKey} never lock: a reader either sees a chain from before a write
+ * or after it, never a half-built one.
+ *
+ * Iterators are weakly consistent: they never throw {@link java.util.ConcurrentModificationException}
+ * and reflect each stripe as of when they reach it, possibly including later updates.
+ *
+ * Like {@link java.util.concurrent.ConcurrentHashMap}, this map does not allow null keys or values.
+ *
+ * @see AbstractIterableMap
+ * @see Map
+ */
+public class StripedConcurrentHashMap<K, V> extends AbstractIterableMap<K, V> {
+    private static final double DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD = 0.75;
+    private static final int DEFAULT_STRIPE_COUNT = 64;
+    private static final int DEFAULT_INITIAL_CHAINS_PER_STRIPE = 4;
+
+    private final Stripe<K, V>[] stripes;
+    private final int stripeShift;
+    private final double resizeThreshold;
+
+    /**
+     * Constructs a new StripedConcurrentHashMap with the default load factor threshold, stripe count
+     * and initial chain count.
+     */
+    public StripedConcurrentHashMap() {
+        this(DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD, DEFAULT_STRIPE_COUNT, DEFAULT_INITIAL_CHAINS_PER_STRIPE);
+    }
+
+    /**
+     * Constructs a new StripedConcurrentHashMap with the given parameters.
+     *
+     * @param resizingLoadFactorThreshold the load factor threshold at which a stripe doubles its chain
+     *                                    count. Must be > 0.
+     * @param stripeCount the number of independently locked stripes, rounded up to a power of two.
+     *                    Must be > 0.
+     * @param initialChainsPerStripe the initial number of chains in each stripe, rounded up to a power
+     *                               of two. Must be > 0.
+     */
+    @SuppressWarnings("unchecked")
+    public StripedConcurrentHashMap(double resizingLoadFactorThreshold, int stripeCount, int initialChainsPerStripe) {
+        if (resizingLoadFactorThreshold <= 0 || stripeCount <= 0 || initialChainsPerStripe <= 0) {
+            throw new IllegalArgumentException();
+        }
+        int powerOfTwoStripes = powerOfTwoAtLeast(stripeCount);
+        int powerOfTwoChains = powerOfTwoAtLeast(initialChainsPerStripe);
+        this.resizeThreshold = resizingLoadFactorThreshold;
+        // stripes are chosen by the top bits of the hash, chains within a stripe by the bottom bits
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(powerOfTwoStripes);
+        this.stripes = (Stripe<K, V>[]) new Stripe[powerOfTwoStripes];
+        for (int i = 0; i < powerOfTwoStripes; i++) {
+            stripes[i] = new Stripe<>(powerOfTwoChains);
+        }
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        return Math.max(1, Integer.highestOneBit(n - 1) << 1);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Stripe<K, V> stripeFor(int hash) {
+        // a shift of 32 is a no-op in Java, so a single stripe needs special handling
+        return stripes.length == 1 ? stripes[0] : stripes[hash >>> stripeShift];
+    }
+
+    @Override
+    public V get(Object key) {
+        int hash = hash(key);
+        Node<K, V> node = stripeFor(hash).find(key, hash);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int hash = hash(key);
+        return stripeFor(hash).find(key, hash) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(key);
+        return stripeFor(hash).put(key, hash, value, false, resizeThreshold);
+    }
+
+    /**
+     * Atomically associates the value with the key unless the key is already present.
+     *
+     * @return the existing value, or null if the value was added
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(key);
+        return stripeFor(hash).put(key, hash, value, true, resizeThreshold);
+    }
+
+    @Override
+    public V remove(Object key) {
+        int hash = hash(key);
+        return stripeFor(hash).remove(key, hash);
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * Returns the number of entries. Under concurrent updates this is only an estimate, since the
+     * stripes are counted one after another.
+     */
+    @Override
+    public int size() {
+        long total = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            total += stripe.count;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new StripedConcurrentHashMapIterator();
+    }
+
+    /**
+     * A chain node. Only the value ever changes after construction; removing a node copies the part
+     * of the chain in front of it instead of unlinking it in place.
+     */
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        final Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * A group of chains guarded by a single lock. Readers go through the volatile chain array
+     * without locking; writers hold the lock.
+     */
+    private static final class Stripe<K, V> extends ReentrantLock {
+        private volatile AtomicReferenceArray<Node<K, V>> chains;
+        private volatile int count;
+
+        Stripe(int chainCount) {
+            this.chains = new AtomicReferenceArray<>(chainCount);
+            this.count = 0;
+        }
+
+        Node<K, V> find(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> table = chains;
+            for (Node<K, V> node = table.get(hash & (table.length() - 1)); node != null; node = node.next) {
+                if (node.hash == hash && node.key.equals(key)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        V put(K key, int hash, V value, boolean onlyIfAbsent, double resizeThreshold) {
+            lock();
+            try {
+                Node<K, V> existing = find(key, hash);
+                if (existing != null) {
+                    V oldValue = existing.value;
+                    if (!onlyIfAbsent) {
+                        existing.value = value;
+                    }
+                    return oldValue;
+                }
+                if (count + 1 > resizeThreshold * chains.length()) {
+                    resize();
+                }
+                AtomicReferenceArray<Node<K, V>> table = chains;
+                int index = hash & (table.length() - 1);
+                table.set(index, new Node<>(hash, key, value, table.get(index)));
+                count++;
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        V remove(Object key, int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> table = chains;
+                int index = hash & (table.length() - 1);
+                Node<K, V> head = table.get(index);
+                Node<K, V> target = head;
+                while (target != null && !(target.hash == hash && target.key.equals(key))) {
+                    target = target.next;
+                }
+                if (target == null) {
+                    return null;
+                }
+                // rebuild the nodes in front of the removed one on top of the nodes after it
+                Node<K, V> rebuilt = target.next;
+                for (Node<K, V> node = head; node != target; node = node.next) {
+                    rebuilt = new Node<>(node.hash, node.key, node.value, rebuilt);
+                }
+                table.set(index, rebuilt);
+                count--;
+                return target.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Doubles the chain count. Readers keep using the old array until the new, fully built one
+         * is published, so they are never blocked.
+         */
+        private void resize() {
+            AtomicReferenceArray<Node<K, V>> oldTable = chains;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(oldTable.length() * 2);
+            int mask = newTable.length() - 1;
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    newTable.set(index, new Node<>(node.hash, node.key, node.value, newTable.get(index)));
+                }
+            }
+            chains = newTable;
+        }
+
+        void clear() {
+            lock();
+            try {
+                chains = new AtomicReferenceArray<>(chains.length());
+                count = 0;
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    private class StripedConcurrentHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private int stripeIndex;
+        private AtomicReferenceArray<Node<K, V>> table;
+        private int chainIndex;
+        private Node<K, V> nextNode;
+
+        StripedConcurrentHashMapIterator() {
+            this.stripeIndex = -1;
+            this.table = null;
+            this.chainIndex = 0;
+            advance(null);
+        }
+
+        /**
+         * Moves to the node after the given one, or the first node if it is null.
+         */
+        private void advance(Node<K, V> current) {
+            nextNode = current == null ? null : current.next;
+            while (nextNode == null) {
+                if (table == null || chainIndex == table.length()) {
+                    stripeIndex++;
+                    if (stripeIndex == stripes.length) {
+                        return;
+                    }
+                    table = stripes[stripeIndex].chains;
+                    chainIndex = 0;
+                } else {
+                    nextNode = table.get(chainIndex);
+                    chainIndex++;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> current = nextNode;
+            advance(current);
+            return new WriteThroughEntry(current.key, current.value);
+        }
+    }
+
+    /**
+     * An entry snapshot whose {@code setValue} also puts the new value into the map.
+     */
+    private class WriteThroughEntry extends SimpleEntry<K, V> {
+        WriteThroughEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            StripedConcurrentHashMap.this.put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package disjointsets;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A quick-union-by-size data structure with path halving, stored in a flat {@code int[]}.
+ *
+ * Like {@link UnionBySizeCompressingDisjointSets}, each entry of {@code pointers} holds either the
+ * index of the item's parent or, for a representative, the negated size of its set. Finds shorten
+ * the path as they walk it by pointing every other node at its grandparent, so no scratch list is
+ * allocated.
+ *
+ * Callers that already number their items densely can skip the item map entirely with the int-id
+ * methods {@link #makeSets(int)}, {@link #find(int)} and {@link #union(int, int)}. Ids handed out by
+ * {@link #makeSet} and {@link #makeSets} share one numbering, and {@link #findSet} returns ids from it.
+ *
+ * @see DisjointSets for more documentation.
+ */
+public class UnionBySizeArrayDisjointSets<T> implements DisjointSets<T> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private int[] pointers;
+    private final HashMap<T, Integer> ids;
+    private int size;
+
+    public UnionBySizeArrayDisjointSets() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity the number of items to allocate room for up front. Must be > 0.
+     */
+    public UnionBySizeArrayDisjointSets(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.pointers = new int[initialCapacity];
+        this.ids = new HashMap<>();
+        this.size = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > pointers.length) {
+            pointers = Arrays.copyOf(pointers, Math.max(capacity, pointers.length * 2));
+        }
+    }
+
+    @Override
+    public void makeSet(T item) {
+        if (ids.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        ids.put(item, makeSets(1));
+    }
+
+    @Override
+    public int findSet(T item) {
+        return find(idOf(item));
+    }
+
+    @Override
+    public boolean union(T item1, T item2) {
+        return union(idOf(item1), idOf(item2));
+    }
+
+    private int idOf(T item) {
+        Integer id = ids.get(item);
+        if (id == null) {
+            throw new IllegalArgumentException();
+        }
+        return id;
+    }
+
+    /**
+     * Creates {@code n} new singleton sets with consecutive ids.
+     *
+     * @return the id of the first new set
+     */
+    public int makeSets(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException();
+        }
+        ensureCapacity(size + n);
+        int first = size;
+        Arrays.fill(pointers, first, first + n, -1);
+        size += n;
+        return first;
+    }
+
+    /**
+     * Returns the id of the representative of the set containing the given id.
+     */
+    public int find(int id) {
+        checkId(id);
+        while (pointers[id] >= 0) {
+            int parent = pointers[id];
+            int grandparent = pointers[parent];
+            if (grandparent < 0) {
+                return parent;
+            }
+            // path halving: skip over the parent and continue from the grandparent
+            pointers[id] = grandparent;
+            id = grandparent;
+        }
+        return id;
+    }
+
+    /**
+     * Merges the sets containing the two ids, attaching the smaller set under the larger.
+     *
+     * @return true if the ids were in different sets
+     */
+    public boolean union(int id1, int id2) {
+        int root1 = find(id1);
+        int root2 = find(id2);
+        if (root1 == root2) {
+            return false;
+        }
+        // sizes are stored negated, so the more negative root is the larger set
+        if (pointers[root1] > pointers[root2]) {
+            int temp = root1;
+            root1 = root2;
+            root2 = temp;
+        }
+        pointers[root1] += pointers[root2];
+        pointers[root2] = root1;
+        return true;
+    }
+
+    /**
+     * Returns the number of items in the set containing the given id.
+     */
+    public int setSize(int id) {
+        return -pointers[find(id)];
+    }
+
+    /**
+     * Returns the number of ids handed out so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException();
+        }
+    }
+}
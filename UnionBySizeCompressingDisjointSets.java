@@ -39,19 +39,21 @@ public class UnionBySizeCompressingDisjointSets<T> implements DisjointSets<T> {
         if (!map.containsKey(item)) {
             throw new IllegalArgumentException();
         }
-        int index = map.get(item);
-        int value = pointers.get(index);
-        ArrayList<Integer> tempIndex = new ArrayList<>(size);
+        int start = map.get(item);
+        int root = start;
+        int value = pointers.get(root);
         while (value >= 0) {
-            tempIndex.add(index);
-            index = value;
-            value = pointers.get(index);
+            root = value;
+            value = pointers.get(root);
         }
-        for (int i = 0; i < tempIndex.size(); i++) {
-            int temp = tempIndex.get(i);
-            pointers.set(temp, index);
+        // second pass: point every node on the path directly at the root
+        int index = start;
+        while (index != root) {
+            int next = pointers.get(index);
+            pointers.set(index, root);
+            index = next;
         }
-        return index;
+        return root;
     }
 
     @Override